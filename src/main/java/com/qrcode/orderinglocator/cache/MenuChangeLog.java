@@ -0,0 +1,111 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Bounded history of which categories and products changed in each menu version.
+ * Only ids are kept; callers resolve them against the current snapshot.
+ */
+public class MenuChangeLog {
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    public MenuChangeLog(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void record(MenuSnapshot previous, MenuSnapshot next) {
+        Changes changes = new Changes(!Objects.equals(previous.restaurant(), next.restaurant()),
+                new HashSet<>(), new HashSet<>());
+
+        Map<Long, MenuResponse.CategoryResponse> previousCategories = indexCategories(previous);
+        Map<Long, MenuResponse.CategoryResponse> nextCategories = indexCategories(next);
+        Map<Long, ProductSlot> previousProducts = indexProducts(previous);
+        Map<Long, ProductSlot> nextProducts = indexProducts(next);
+
+        collectChanged(previousCategories, nextCategories, changes.categoryIds(),
+                (before, after) -> Objects.equals(before.getName(), after.getName()));
+        collectChanged(previousProducts, nextProducts, changes.productIds(), ProductSlot::equals);
+
+        entries.addLast(new Entry(previous.version(), next.version(), changes));
+        while (entries.size() > capacity) {
+            entries.removeFirst();
+        }
+    }
+
+    /**
+     * Merges every change after {@code sinceVersion} up to and including {@code untilVersion}.
+     * Returns empty when the history no longer reaches back to {@code sinceVersion}.
+     */
+    public synchronized Optional<Changes> changesBetween(long sinceVersion, long untilVersion) {
+        if (sinceVersion == untilVersion) {
+            return Optional.of(Changes.none());
+        }
+        if (sinceVersion > untilVersion || entries.isEmpty() || entries.peekFirst().fromVersion() > sinceVersion) {
+            return Optional.empty();
+        }
+
+        boolean restaurantChanged = false;
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.toVersion() <= sinceVersion || entry.toVersion() > untilVersion) {
+                continue;
+            }
+            restaurantChanged |= entry.changes().restaurantChanged();
+            categoryIds.addAll(entry.changes().categoryIds());
+            productIds.addAll(entry.changes().productIds());
+        }
+        return Optional.of(new Changes(restaurantChanged, categoryIds, productIds));
+    }
+
+    private static <T> void collectChanged(Map<Long, T> before, Map<Long, T> after, Set<Long> changed,
+                                           BiPredicate<T, T> same) {
+        after.forEach((id, value) -> {
+            T old = before.get(id);
+            if (old == null || !same.test(old, value)) {
+                changed.add(id);
+            }
+        });
+        before.keySet().stream()
+                .filter(id -> !after.containsKey(id))
+                .forEach(changed::add);
+    }
+
+    private static Map<Long, MenuResponse.CategoryResponse> indexCategories(MenuSnapshot snapshot) {
+        Map<Long, MenuResponse.CategoryResponse> index = new HashMap<>();
+        snapshot.categories().forEach(category -> index.put(category.getId(), category));
+        return index;
+    }
+
+    private static Map<Long, ProductSlot> indexProducts(MenuSnapshot snapshot) {
+        Map<Long, ProductSlot> index = new HashMap<>();
+        snapshot.categories().forEach(category -> category.getProducts()
+                .forEach(product -> index.put(product.getId(), new ProductSlot(category.getId(), product))));
+        return index;
+    }
+
+    public record Changes(boolean restaurantChanged, Set<Long> categoryIds, Set<Long> productIds) {
+
+        static Changes none() {
+            return new Changes(false, Set.of(), Set.of());
+        }
+    }
+
+    private record ProductSlot(Long categoryId, MenuResponse.ProductResponse product) {
+    }
+
+    private record Entry(long fromVersion, long toVersion, Changes changes) {
+    }
+}
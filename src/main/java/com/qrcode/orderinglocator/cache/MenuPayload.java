@@ -0,0 +1,19 @@
+package com.qrcode.orderinglocator.cache;
+
+import java.util.Arrays;
+
+/**
+ * Menu JSON serialized once per snapshot version, with its gzip variant and strong entity tags.
+ */
+public record MenuPayload(String epoch, long version, String etag, String gzipEtag, byte[] json, byte[] gzip) {
+
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag));
+    }
+}
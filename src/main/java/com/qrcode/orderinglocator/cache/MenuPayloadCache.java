@@ -0,0 +1,81 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized menu per table for the current snapshot version, so repeated scans
+ * neither walk the DTO tree nor compress again until the menu changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPayloadCache {
+
+    private static final MenuResponse.TableInfo NO_TABLE = new MenuResponse.TableInfo();
+
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ObjectMapper objectMapper;
+
+    private volatile VersionedPayloads payloads = new VersionedPayloads(-1, new ConcurrentHashMap<>());
+
+    public MenuPayload get(MenuResponse.TableInfo table) {
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+
+        VersionedPayloads current = payloads;
+        if (snapshot.version() < current.version()) {
+            // Raced with a newer snapshot; serve this one without caching it
+            return serialize(snapshot, table);
+        }
+        if (snapshot.version() > current.version()) {
+            current = new VersionedPayloads(snapshot.version(), new ConcurrentHashMap<>());
+            payloads = current;
+        }
+
+        return current.byTable().computeIfAbsent(table == null ? NO_TABLE : table,
+                key -> serialize(snapshot, table));
+    }
+
+    private MenuPayload serialize(MenuSnapshot snapshot, MenuResponse.TableInfo table) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(snapshot.toResponse(table));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize menu version " + snapshot.version(), e);
+        }
+
+        // The version alone is only unique per node, so the content checksum keeps tags stable behind a load balancer
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String tag = "menu-" + snapshot.version() + "-" + Long.toHexString(crc.getValue());
+
+        log.debug("Serialized menu version {} for table {} ({} bytes)", snapshot.version(),
+                table != null ? table.getId() : null, json.length);
+        return new MenuPayload(menuSnapshotCache.epoch(), snapshot.version(), "\"" + tag + "\"", "\"" + tag + "-gzip\"", json, gzip(json));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record VersionedPayloads(long version, Map<MenuResponse.TableInfo, MenuPayload> byTable) {
+    }
+}
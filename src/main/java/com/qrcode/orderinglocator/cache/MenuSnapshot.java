@@ -0,0 +1,34 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, precomputed menu shared by every request until the catalog changes.
+ * The nested DTOs are shared between responses and must not be mutated.
+ */
+public record MenuSnapshot(long version,
+                           long generation,
+                           MenuResponse.RestaurantInfo restaurant,
+                           List<MenuResponse.CategoryResponse> categories) {
+
+    public MenuSnapshot {
+        categories = List.copyOf(categories);
+    }
+
+    public boolean sameContentAs(MenuSnapshot other) {
+        return other != null
+                && Objects.equals(restaurant, other.restaurant)
+                && categories.equals(other.categories);
+    }
+
+    public MenuResponse toResponse(MenuResponse.TableInfo table) {
+        return MenuResponse.builder()
+                .table(table)
+                .restaurant(restaurant)
+                .categories(categories)
+                .build();
+    }
+}
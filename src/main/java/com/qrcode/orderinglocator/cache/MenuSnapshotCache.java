@@ -0,0 +1,150 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.event.RestaurantSettingsChangedEvent;
+import com.qrcode.orderinglocator.repository.CategoryRepository;
+import com.qrcode.orderinglocator.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link MenuSnapshot}. Catalog writes only bump a generation counter;
+ * the snapshot is rebuilt lazily by the next reader and keeps its version when nothing changed.
+ * Readers that miss on the same generation share a single rebuild.
+ * <p>
+ * Versions count from 1 on every start and on every node, so they are only comparable under the same
+ * {@link #epoch() epoch}, which is drawn once per cache.
+ */
+@Component
+@Slf4j
+public class MenuSnapshotCache {
+
+    private static final int CHANGE_LOG_CAPACITY = 64;
+
+    private final CategoryRepository categoryRepository;
+    private final RestaurantSettingsProvider settingsProvider;
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final MenuChangeLog changeLog = new MenuChangeLog(CHANGE_LOG_CAPACITY);
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<Long, MenuSnapshot> rebuilds;
+    private volatile MenuSnapshot snapshot;
+    private long lastVersion;
+
+    public MenuSnapshotCache(CategoryRepository categoryRepository,
+                             RestaurantSettingsProvider settingsProvider,
+                             MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.settingsProvider = settingsProvider;
+        this.rebuilds = new SingleFlight<>("menu.snapshot", meterRegistry);
+    }
+
+    public MenuSnapshot current() {
+        MenuSnapshot current = snapshot;
+        long expectedGeneration = generation.get();
+        if (current != null && current.generation() == expectedGeneration) {
+            return current;
+        }
+        return rebuilds.load(expectedGeneration, () -> rebuild(expectedGeneration));
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Changes since a version of this cache's epoch; empty when the version was counted by another start or
+     * another node, since the same number then names a different menu.
+     */
+    public Optional<MenuChangeLog.Changes> changesBetween(String sinceEpoch, long sinceVersion, long untilVersion) {
+        if (!epoch.equals(sinceEpoch)) {
+            return Optional.empty();
+        }
+        return changeLog.changesBetween(sinceVersion, untilVersion);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.concerns(Category.class, Product.class)) {
+            invalidate();
+        }
+    }
+
+    @EventListener
+    public void onSettingsChanged(RestaurantSettingsChangedEvent event) {
+        // The provider has already reloaded, so the next rebuild picks up the new values
+        invalidate();
+    }
+
+    private MenuSnapshot rebuild(long buildGeneration) {
+        long started = System.nanoTime();
+
+        MenuResponse.RestaurantInfo restaurant = settingsProvider.restaurantInfo();
+        List<MenuResponse.CategoryResponse> categories = categoryRepository.findAllWithProducts().stream()
+                .map(this::mapCategoryToResponse)
+                .toList();
+
+        MenuSnapshot built = publish(buildGeneration, restaurant, categories);
+        log.info("Menu snapshot version {} built in {} ms", built.version(), (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    private synchronized MenuSnapshot publish(long buildGeneration,
+                                              MenuResponse.RestaurantInfo restaurant,
+                                              List<MenuResponse.CategoryResponse> categories) {
+        MenuSnapshot previous = snapshot;
+        if (previous != null && previous.generation() >= buildGeneration) {
+            // A concurrent reader already published something at least as fresh
+            return previous;
+        }
+
+        MenuSnapshot candidate = new MenuSnapshot(lastVersion, buildGeneration, restaurant, categories);
+        if (!candidate.sameContentAs(previous)) {
+            candidate = new MenuSnapshot(++lastVersion, buildGeneration, restaurant, categories);
+            if (previous != null) {
+                changeLog.record(previous, candidate);
+            }
+        }
+        snapshot = candidate;
+        return candidate;
+    }
+
+    private MenuResponse.CategoryResponse mapCategoryToResponse(Category category) {
+        List<MenuResponse.ProductResponse> productResponses = category.getProducts() == null
+                ? List.of()
+                : category.getProducts().stream()
+                        .map(this::mapProductToResponse)
+                        .toList();
+
+        return MenuResponse.CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .products(productResponses)
+                .build();
+    }
+
+    private MenuResponse.ProductResponse mapProductToResponse(Product product) {
+        return MenuResponse.ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .imageUrl(product.getImageUrl())
+                .price(product.getPrice())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.repository.ProductRepository;
+import com.qrcode.orderinglocator.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product names and prices indexed by id, derived from the current {@link MenuSnapshot} and rebuilt
+ * only when the menu version changes. Ids the snapshot does not know are loaded with one findAllById.
+ * Prices are kept as {@link Money} so order totals never touch BigDecimal.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceCatalog {
+
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ProductRepository productRepository;
+
+    private volatile Catalog catalog;
+
+    public long version() {
+        return catalog().version();
+    }
+
+    public Optional<ProductPrice> find(Long productId) {
+        return Optional.ofNullable(catalog().prices().get(productId));
+    }
+
+    /**
+     * Resolves every id in one pass; ids that exist neither in the catalog nor in the database are
+     * simply absent from the result.
+     */
+    public Map<Long, ProductPrice> resolve(Collection<Long> productIds) {
+        Map<Long, ProductPrice> prices = catalog().prices();
+        Map<Long, ProductPrice> resolved = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductPrice price = prices.get(productId);
+            if (price != null) {
+                resolved.put(productId, price);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                resolved.put(product.getId(), ProductPrice.from(product));
+            }
+        }
+        return resolved;
+    }
+
+    private Catalog catalog() {
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+        Catalog current = catalog;
+        if (current == null || current.version() != snapshot.version()) {
+            current = Catalog.of(snapshot);
+            catalog = current;
+        }
+        return current;
+    }
+
+    public record ProductPrice(Long id, String name, Money price) {
+
+        static ProductPrice from(Product product) {
+            return new ProductPrice(product.getId(), product.getName(), Money.of(product.getPrice()));
+        }
+    }
+
+    private record Catalog(long version, Map<Long, ProductPrice> prices) {
+
+        static Catalog of(MenuSnapshot snapshot) {
+            Map<Long, ProductPrice> prices = new HashMap<>();
+            for (MenuResponse.CategoryResponse category : snapshot.categories()) {
+                for (MenuResponse.ProductResponse product : category.getProducts()) {
+                    prices.put(product.getId(), new ProductPrice(product.getId(), product.getName(), Money.of(product.getPrice())));
+                }
+            }
+            return new Catalog(snapshot.version(), Map.copyOf(prices));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions. Query terms match exactly, as a prefix
+ * or within a small edit distance; a product must match every term and is ranked by the summed weight
+ * of its best match per term. Products are reindexed one by one as they change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.75;
+    private static final double FUZZY_MATCH = 0.5;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private volatile boolean loaded;
+
+    public List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new Hit(products.get(entry.getKey()), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                            .thenComparing(hit -> hit.product().name(), String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(hit -> hit.product().id()))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.concerns(Product.class) || !loaded) {
+            return;
+        }
+
+        // Reading under the write lock keeps concurrent updates of one product applied in commit order
+        lock.writeLock().lock();
+        try {
+            if (event.entityId() == null) {
+                rebuild();
+                return;
+            }
+            remove(event.entityId());
+            productRepository.findById(event.entityId()).ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                rebuild();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        products.clear();
+        postings.clear();
+        productRepository.findAll().forEach(this::add);
+        log.info("Product search index built with {} products and {} terms in {} ms",
+                products.size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void add(Product product) {
+        Map<String, Double> termWeights = new HashMap<>();
+        for (String term : tokenize(product.getDescription())) {
+            termWeights.merge(term, DESCRIPTION_WEIGHT, Math::max);
+        }
+        for (String term : tokenize(product.getName())) {
+            termWeights.merge(term, NAME_WEIGHT, Math::max);
+        }
+
+        IndexedProduct indexed = new IndexedProduct(
+                product.getId(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getName(),
+                product.getDescription(),
+                product.getImageUrl(),
+                product.getPrice(),
+                Set.copyOf(termWeights.keySet()));
+
+        products.put(indexed.id(), indexed);
+        termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(indexed.id(), weight));
+    }
+
+    private void remove(Long productId) {
+        IndexedProduct indexed = products.remove(productId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            Map<Long, Double> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private Map<Long, Double> score(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (Map.Entry<String, Map<Long, Double>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            double quality = entry.getKey().length() == term.length() ? EXACT_MATCH : PREFIX_MATCH;
+            collect(scores, entry.getValue(), quality);
+        }
+
+        int maxEdits = maxEdits(term);
+        if (maxEdits > 0) {
+            for (Map.Entry<String, Map<Long, Double>> entry : postings.entrySet()) {
+                if (!entry.getKey().startsWith(term) && withinEdits(term, entry.getKey(), maxEdits)) {
+                    collect(scores, entry.getValue(), FUZZY_MATCH);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void collect(Map<Long, Double> scores, Map<Long, Double> posting, double quality) {
+        posting.forEach((productId, weight) -> scores.merge(productId, weight * quality, Math::max));
+    }
+
+    private static int maxEdits(String term) {
+        if (term.length() < 3) {
+            return 0;
+        }
+        return term.length() < 6 ? 1 : 2;
+    }
+
+    /**
+     * True when the term is within maxEdits of the candidate or of the candidate's prefix of the same
+     * length, so a misspelt, partially typed word still matches.
+     */
+    private static boolean withinEdits(String term, String candidate, int maxEdits) {
+        if (candidate.length() + maxEdits < term.length()) {
+            return false;
+        }
+        if (candidate.length() > term.length()
+                && editDistance(term, candidate.substring(0, term.length()), maxEdits) <= maxEdits) {
+            return true;
+        }
+        return candidate.length() <= term.length() + maxEdits
+                && editDistance(term, candidate, maxEdits) <= maxEdits;
+    }
+
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public record IndexedProduct(Long id,
+                                 Long categoryId,
+                                 String name,
+                                 String description,
+                                 String imageUrl,
+                                 BigDecimal price,
+                                 Set<String> terms) {
+    }
+
+    public record Hit(IndexedProduct product, double score) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Settings;
+
+/**
+ * Immutable copy of the single {@link Settings} row.
+ */
+public record RestaurantSettings(Long id,
+                                 String name,
+                                 String logoUrl,
+                                 String address,
+                                 String workingHours,
+                                 String aboutImageUrl,
+                                 String aboutDescription,
+                                 String termsAndConditions,
+                                 String facebookUrl,
+                                 String whatsappNumber,
+                                 String phoneNumber,
+                                 String secondPhoneNumber) {
+
+    public static RestaurantSettings from(Settings settings) {
+        return new RestaurantSettings(
+                settings.getId(),
+                settings.getName(),
+                settings.getLogoUrl(),
+                settings.getAddress(),
+                settings.getWorkingHours(),
+                settings.getAboutImageUrl(),
+                settings.getAboutDescription(),
+                settings.getTermsAndConditions(),
+                settings.getFacebookUrl(),
+                settings.getWhatsappNumber(),
+                settings.getPhoneNumber(),
+                settings.getSecondPhoneNumber());
+    }
+
+    public MenuResponse.RestaurantInfo toRestaurantInfo() {
+        return MenuResponse.RestaurantInfo.builder()
+                .name(name)
+                .logoUrl(logoUrl)
+                .address(address)
+                .workingHours(workingHours)
+                .facebookUrl(facebookUrl)
+                .whatsappNumber(whatsappNumber)
+                .phoneNumber(phoneNumber)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.event.RestaurantSettingsChangedEvent;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the restaurant settings row in memory. It is loaded on first use and reloaded only after
+ * a settings write commits; nothing on the request path reads the settings table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantSettingsProvider {
+
+    private final SettingsRepository settingsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // A lock rather than synchronized: reload waits on JDBC, which would pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Loaded loaded;
+    private long version;
+
+    public Optional<RestaurantSettings> get() {
+        return Optional.ofNullable(loaded().settings());
+    }
+
+    public MenuResponse.RestaurantInfo restaurantInfo() {
+        return loaded().restaurantInfo();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.concerns(Settings.class)) {
+            Loaded refreshed = reload();
+            eventPublisher.publishEvent(new RestaurantSettingsChangedEvent(refreshed.version()));
+        }
+    }
+
+    private Loaded loaded() {
+        Loaded current = loaded;
+        return current != null ? current : reload();
+    }
+
+    private Loaded reload() {
+        reloadLock.lock();
+        try {
+            RestaurantSettings settings = settingsRepository.findFirstByOrderByIdAsc()
+                    .map(RestaurantSettings::from)
+                    .orElse(null);
+
+            Loaded refreshed = new Loaded(++version, settings, settings != null ? settings.toRestaurantInfo() : null);
+            loaded = refreshed;
+            log.info("Loaded restaurant settings version {}", refreshed.version());
+            return refreshed;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private record Loaded(long version, RestaurantSettings settings, MenuResponse.RestaurantInfo restaurantInfo) {
+    }
+}
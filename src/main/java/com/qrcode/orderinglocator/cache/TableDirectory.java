@@ -0,0 +1,81 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.RestaurantTableRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory directory of restaurant tables by id and number. Loaded once and reloaded after a table
+ * write commits, so table lookups on the menu and order paths never reach the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TableDirectory {
+
+    private final RestaurantTableRepository tableRepository;
+
+    // A lock rather than synchronized: reload waits on JDBC, which would pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Directory directory;
+
+    public Optional<TableEntry> findById(Long id) {
+        return Optional.ofNullable(directory().byId().get(id));
+    }
+
+    public Optional<TableEntry> findByNumber(Integer number) {
+        return Optional.ofNullable(directory().byNumber().get(number));
+    }
+
+    public Collection<TableEntry> all() {
+        return directory().byId().values();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.concerns(RestaurantTable.class)) {
+            reload();
+        }
+    }
+
+    private Directory directory() {
+        Directory current = directory;
+        return current != null ? current : reload();
+    }
+
+    private Directory reload() {
+        reloadLock.lock();
+        try {
+            List<RestaurantTable> tables = tableRepository.findAll();
+
+            Map<Long, TableEntry> byId = new HashMap<>();
+            Map<Integer, TableEntry> byNumber = new HashMap<>();
+            for (RestaurantTable table : tables) {
+                TableEntry entry = TableEntry.from(table);
+                byId.put(entry.id(), entry);
+                byNumber.put(entry.number(), entry);
+            }
+
+            Directory refreshed = new Directory(Map.copyOf(byId), Map.copyOf(byNumber));
+            directory = refreshed;
+            log.info("Loaded {} tables into the table directory", byId.size());
+            return refreshed;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private record Directory(Map<Long, TableEntry> byId, Map<Integer, TableEntry> byNumber) {
+    }
+}
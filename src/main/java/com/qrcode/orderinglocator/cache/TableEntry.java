@@ -0,0 +1,21 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+
+/**
+ * Immutable copy of a {@link RestaurantTable} row.
+ */
+public record TableEntry(Long id, Integer number, String qrCodeUrl) {
+
+    public static TableEntry from(RestaurantTable table) {
+        return new TableEntry(table.getId(), table.getNumber(), table.getQrCodeUrl());
+    }
+
+    public MenuResponse.TableInfo toTableInfo() {
+        return MenuResponse.TableInfo.builder()
+                .id(id)
+                .number(number)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.qrcode.orderinglocator.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link BoundedDataSource} when {@code database.concurrency.enabled}
+ * is set, which it is by default whenever {@code spring.threads.virtual.enabled} is.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.concurrency.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseConcurrencyConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(ObjectProvider<DatabaseConcurrencyProperties> properties,
+                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                DatabaseConcurrencyProperties settings = properties.getObject();
+                int maxConcurrent = settings.getMaxConcurrent() > 0 ? settings.getMaxConcurrent() : poolSize(dataSource);
+                log.info("Limiting DataSource '{}' to {} concurrent connections", beanName, maxConcurrent);
+                return new BoundedDataSource(dataSource, maxConcurrent, settings.getAcquireTimeout(), meterRegistry.getObject());
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // Hikari reports -1 until its pool starts when maximum-pool-size was left at the default
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
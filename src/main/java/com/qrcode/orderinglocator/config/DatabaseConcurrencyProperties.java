@@ -0,0 +1,27 @@
+package com.qrcode.orderinglocator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code database.concurrency.*}. When enabled, callers queue for a connection on a fair semaphore
+ * in front of the pool, which keeps thousands of virtual threads from contending inside the pool itself.
+ */
+@Data
+@ConfigurationProperties(prefix = "database.concurrency")
+public class DatabaseConcurrencyProperties {
+
+    /** Put the semaphore in front of the connection pool. */
+    private boolean enabled = false;
+
+    /** Connections handed out at once; 0 means the pool's maximum size. */
+    private int maxConcurrent = 0;
+
+    /** How long a caller waits for a permit before the request fails. */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /** Shortest virtual-thread pinning recorded by the pinning metrics. */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
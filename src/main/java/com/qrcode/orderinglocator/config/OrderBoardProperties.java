@@ -0,0 +1,20 @@
+package com.qrcode.orderinglocator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code orders.board.*}, the live order stream behind kitchen and counter screens.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.board")
+public class OrderBoardProperties {
+
+    /** How often an idle stream gets a comment line, so proxies and load balancers keep it open. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** How long one stream stays open; browsers reconnect on their own and get a fresh snapshot. */
+    private Duration timeout = Duration.ofMinutes(30);
+}
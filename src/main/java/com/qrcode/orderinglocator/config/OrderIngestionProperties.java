@@ -0,0 +1,35 @@
+package com.qrcode.orderinglocator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code orders.ingestion.*}. With group commit off every order is written in its own transaction.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.ingestion")
+public class OrderIngestionProperties {
+
+    /** Queue orders and write them in shared transactions instead of one transaction per order. */
+    private boolean groupCommit = false;
+
+    /** Let clients that send {@code Prefer: respond-async} get 202 before their order is written. */
+    private boolean asyncAccept = false;
+
+    /** Orders that may wait for the writer before callers are turned away. */
+    private int queueCapacity = 1000;
+
+    /** Most orders written in one transaction. */
+    private int maxBatchSize = 50;
+
+    /** How long the writer waits for more orders after the first one arrives. */
+    private Duration maxLinger = Duration.ofMillis(5);
+
+    /** How long a caller waits for room in a full queue. */
+    private Duration enqueueTimeout = Duration.ofSeconds(1);
+
+    /** How long a caller waits for the writer to commit its order. */
+    private Duration writeTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,94 @@
+package com.qrcode.orderinglocator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.cache.MenuPayloadCache;
+import com.qrcode.orderinglocator.cache.MenuSnapshot;
+import com.qrcode.orderinglocator.cache.MenuSnapshotCache;
+import com.qrcode.orderinglocator.cache.ProductSearchIndex;
+import com.qrcode.orderinglocator.cache.RestaurantSettingsProvider;
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.cache.TableEntry;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.service.ActiveOrderIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Preloads the menu snapshot, tables, settings, product search index and active orders and exercises the serializers
+ * before the node takes traffic.
+ * Runs synchronously on ApplicationReadyEvent: Spring Boot only publishes ReadinessState.ACCEPTING_TRAFFIC
+ * after these listeners return, so /actuator/health/readiness stays OUT_OF_SERVICE until warm-up is done.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup {
+
+    private final ApplicationContext applicationContext;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuPayloadCache menuPayloadCache;
+    private final TableDirectory tableDirectory;
+    private final ProductSearchIndex productSearchIndex;
+    private final RestaurantSettingsProvider settingsProvider;
+    private final ActiveOrderIndex activeOrderIndex;
+    private final ObjectMapper objectMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        long started = System.nanoTime();
+
+        try {
+            settingsProvider.get();
+            MenuSnapshot snapshot = menuSnapshotCache.current();
+
+            // Serialize the menu once per table so the first scan at every table is a cache hit
+            Collection<TableEntry> tables = tableDirectory.all();
+            menuPayloadCache.get(null);
+            for (TableEntry table : tables) {
+                menuPayloadCache.get(table.toTableInfo());
+            }
+
+            int indexedProducts = productSearchIndex.size();
+            int activeOrders = activeOrderIndex.size();
+
+            objectMapper.writeValueAsBytes(snapshot.toResponse(null));
+            objectMapper.writeValueAsBytes(sampleOrder());
+
+            log.info("Warm-up completed in {} ms: menu version {}, {} tables, {} products indexed, {} active orders",
+                    (System.nanoTime() - started) / 1_000_000, snapshot.version(), tables.size(), indexedProducts, activeOrders);
+        } catch (Exception e) {
+            // Caches fill lazily on first use, so a failed warm-up only costs latency
+            log.warn("Warm-up failed after {} ms: {}", (System.nanoTime() - started) / 1_000_000, e.getMessage(), e);
+        }
+    }
+
+    private OrderResponse sampleOrder() {
+        return OrderResponse.builder()
+                .id(0L)
+                .totalPrice(BigDecimal.ONE)
+                .status(Order.OrderStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .items(List.of(OrderResponse.OrderItemResponse.builder()
+                        .id(0L)
+                        .productId(0L)
+                        .quantity(1)
+                        .price(BigDecimal.ONE)
+                        .build()))
+                .build();
+    }
+}
@@ -1,28 +1,110 @@
 package com.qrcode.orderinglocator.controller;
 
+import com.qrcode.orderinglocator.cache.MenuPayload;
+import com.qrcode.orderinglocator.dto.menu.CategoryProductsResponse;
+import com.qrcode.orderinglocator.dto.menu.CategorySummaryResponse;
+import com.qrcode.orderinglocator.dto.menu.MenuChangesResponse;
 import com.qrcode.orderinglocator.dto.menu.MenuResponse;
 import com.qrcode.orderinglocator.service.MenuService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 @Tag(name = "Menu", description = "Menu and catalog endpoints")
 public class MenuController {
 
+    private static final String MENU_VERSION_HEADER = "X-Menu-Version";
+    private static final String MENU_EPOCH_HEADER = "X-Menu-Epoch";
+
     private final MenuService menuService;
 
     @GetMapping("/menu")
-    @Operation(summary = "Get menu", description = "Get menu with categories and products, optionally filtered by table")
-    public ResponseEntity<MenuResponse> getMenu(
+    @Operation(summary = "Get menu", description = "Get menu with categories and products, optionally filtered by table. "
+            + "Supports If-None-Match revalidation and gzip content encoding")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = MenuResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Menu unchanged since the supplied ETag")
+    public ResponseEntity<byte[]> getMenu(
             @Parameter(description = "Table ID to get menu for specific table")
-            @RequestParam(required = false) Long table_id) {
-        MenuResponse menu = menuService.getMenu(table_id);
-        return ResponseEntity.ok(menu);
+            @RequestParam(required = false) Long table_id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuPayload payload = menuService.getMenuPayload(table_id);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(gzip ? payload.gzipEtag() : payload.etag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.set(MENU_VERSION_HEADER, String.valueOf(payload.version()));
+        headers.set(MENU_EPOCH_HEADER, payload.epoch());
+
+        if (payload.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return ResponseEntity.ok().headers(headers).body(payload.gzip());
+        }
+        return ResponseEntity.ok().headers(headers).body(payload.json());
+    }
+
+    @GetMapping("/menu/categories")
+    @Operation(summary = "Get menu categories", description = "Get category headers with product counts, without the products themselves")
+    public ResponseEntity<List<CategorySummaryResponse>> getMenuCategories() {
+        List<CategorySummaryResponse> categories = menuService.getCategorySummaries();
+        return ResponseEntity.ok(categories);
+    }
+
+    @GetMapping("/menu/categories/{id}/products")
+    @Operation(summary = "Get category products", description = "Get one page of a category's products ordered by ID")
+    public ResponseEntity<CategoryProductsResponse> getMenuCategoryProducts(
+            @PathVariable Long id,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        CategoryProductsResponse products = menuService.getCategoryProducts(id, after, size);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/menu/changes")
+    @Operation(summary = "Get menu changes", description = "Get categories and products added, changed or removed since a menu version. "
+            + "Returns a full snapshot when the version is unknown, too old or from another epoch")
+    public ResponseEntity<MenuChangesResponse> getMenuChanges(
+            @Parameter(description = "Menu version the client currently holds")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Epoch returned with that version")
+            @RequestParam(required = false) String epoch) {
+        MenuChangesResponse changes = menuService.getMenuChanges(epoch, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(String::trim)
+                .anyMatch(coding -> (coding.equals("gzip") || coding.startsWith("gzip;"))
+                        && !coding.replace(" ", "").matches(".*;q=0(\\.0*)?$"));
     }
-}
\ No newline at end of file
+}
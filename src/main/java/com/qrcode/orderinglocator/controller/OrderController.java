@@ -1,12 +1,21 @@
 package com.qrcode.orderinglocator.controller;
 
+import com.qrcode.orderinglocator.dto.order.BatchCreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.BatchCreateOrderResponse;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusRequest;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusResponse;
 import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderCursorPage;
 import com.qrcode.orderinglocator.dto.order.OrderResponse;
 import com.qrcode.orderinglocator.dto.order.UpdateOrderStatusRequest;
 import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.service.OrderBoardService;
+import com.qrcode.orderinglocator.service.OrderIdempotencyService;
+import com.qrcode.orderinglocator.service.OrderIngestionService;
 import com.qrcode.orderinglocator.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,9 +24,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,16 +41,60 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearerAuth")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String PREFER_HEADER = "Prefer";
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    static final String RESPOND_ASYNC = "respond-async";
+
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderIngestionService orderIngestionService;
+    private final OrderBoardService orderBoardService;
 
     @PostMapping
-    @Operation(summary = "Create order", description = "Create a new order with items")
+    @Operation(summary = "Create order", description = "Create a new order with items. Retries carrying the same Idempotency-Key return the original order. "
+            + "With Prefer: respond-async and no Idempotency-Key the order may be acknowledged with 202 before it is written; poll its Location until it is PERSISTED")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        OrderResponse response = orderService.createOrder(request);
+    public ResponseEntity<OrderResponse> createOrder(
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async to accept 202 Accepted before the order is written")
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
+            @Valid @RequestBody CreateOrderRequest request) {
+        if (idempotencyKey != null) {
+            // Group-committed like any order, but never acknowledged before its key is durable
+            OrderIdempotencyService.Result result = orderIdempotencyService.createOrder(idempotencyKey, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.response());
+        }
+
+        if (prefersAsync(prefer) && orderIngestionService.acceptsAsync()) {
+            OrderResponse accepted = orderIngestionService.acceptOrder(request);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(accepted.getId())
+                    .toUri();
+            return ResponseEntity.accepted()
+                    .location(location)
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(accepted);
+        }
+
+        OrderResponse response = orderIngestionService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk", description = "Create up to " + BatchCreateOrderRequest.MAX_ORDERS
+            + " orders in one transaction, e.g. one per seat. Each order reports its own status; invalid orders do not block the rest")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<BatchCreateOrderResponse> createOrders(@Valid @RequestBody BatchCreateOrderRequest request) {
+        BatchCreateOrderResponse response = orderIngestionService.createOrders(request.getOrders());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID", description = "Get order details by ID")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('CASHIER') or hasRole('ADMIN')")
@@ -57,8 +116,38 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get orders by cursor", description = "Newest orders first, paged by cursor instead of page number: send an empty cursor "
+            + "for the first page, then the nextCursor of each response until it is null. Pages stay stable while new orders arrive")
+    @PreAuthorize("hasRole('CASHIER') or hasRole('ADMIN')")
+    public ResponseEntity<OrderCursorPage> getOrdersByCursor(
+            @Parameter(description = "Filter by table ID")
+            @RequestParam(required = false) Long table_id,
+            @Parameter(description = "Filter by order status")
+            @RequestParam(required = false) Order.OrderStatus status,
+            @Parameter(description = "nextCursor from the previous page, or empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Orders per page, at most 100")
+            @RequestParam(defaultValue = "20") int size) {
+        OrderCursorPage orders = orderService.getOrdersBefore(table_id, status, cursor, size);
+        return ResponseEntity.ok(orders);
+    }
+
+    @GetMapping(value = "/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the live order board", description = "Server-Sent Events for kitchen and counter screens (cashier/admin only): "
+            + "a snapshot of the active orders, then an order event whenever one is created or changes status and a removed event once it is delivered")
+    @PreAuthorize("hasRole('CASHIER') or hasRole('ADMIN')")
+    public SseEmitter streamBoard(
+            @Parameter(description = "Only orders in these statuses")
+            @RequestParam(required = false) Set<Order.OrderStatus> status,
+            @Parameter(description = "Only orders for this table")
+            @RequestParam(required = false) Long table_id) {
+        return orderBoardService.subscribe(status, table_id);
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update order status", description = "Update order status (cashier/admin only)")
+    @ApiResponse(responseCode = "409", description = "Another request already moved the order to this status or beyond")
     @PreAuthorize("hasRole('CASHIER') or hasRole('ADMIN')")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id,
@@ -66,4 +155,26 @@ public class OrderController {
         OrderResponse response = orderService.updateOrderStatus(id, request);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/status")
+    @Operation(summary = "Update order statuses in bulk", description = "Move up to " + BulkUpdateOrderStatusRequest.MAX_TRANSITIONS
+            + " orders at once, e.g. a run of tickets to READY (cashier/admin only). Each order reports its own status; rejected transitions do not block the rest")
+    @PreAuthorize("hasRole('CASHIER') or hasRole('ADMIN')")
+    public ResponseEntity<BulkUpdateOrderStatusResponse> updateOrderStatuses(
+            @Valid @RequestBody BulkUpdateOrderStatusRequest request) {
+        BulkUpdateOrderStatusResponse response = orderService.updateOrderStatuses(request.getTransitions());
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
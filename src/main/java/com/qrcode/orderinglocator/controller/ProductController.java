@@ -0,0 +1,29 @@
+package com.qrcode.orderinglocator.controller;
+
+import com.qrcode.orderinglocator.dto.product.ProductSearchResponse;
+import com.qrcode.orderinglocator.service.ProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Tag(name = "Products", description = "Product search endpoints")
+public class ProductController {
+
+    private final ProductService productService;
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Search product names and descriptions with prefix and typo-tolerant matching, ranked by relevance")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @Parameter(description = "Search text")
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @Parameter(description = "Maximum number of results (1-50)")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productService.searchProducts(query, limit));
+    }
+}
@@ -0,0 +1,37 @@
+package com.qrcode.orderinglocator.controller;
+
+import com.qrcode.orderinglocator.dto.settings.SettingsResponse;
+import com.qrcode.orderinglocator.dto.settings.UpdateSettingsRequest;
+import com.qrcode.orderinglocator.service.SettingsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/settings")
+@RequiredArgsConstructor
+@Tag(name = "Settings", description = "Restaurant settings endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class SettingsController {
+
+    private final SettingsService settingsService;
+
+    @GetMapping
+    @Operation(summary = "Get settings", description = "Get the restaurant settings (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettingsResponse> getSettings() {
+        return ResponseEntity.ok(settingsService.getSettings());
+    }
+
+    @PutMapping
+    @Operation(summary = "Update settings", description = "Update the restaurant settings (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettingsResponse> updateSettings(@Valid @RequestBody UpdateSettingsRequest request) {
+        return ResponseEntity.ok(settingsService.updateSettings(request));
+    }
+}
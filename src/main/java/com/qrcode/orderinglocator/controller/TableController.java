@@ -0,0 +1,63 @@
+package com.qrcode.orderinglocator.controller;
+
+import com.qrcode.orderinglocator.dto.table.TableRequest;
+import com.qrcode.orderinglocator.dto.table.TableResponse;
+import com.qrcode.orderinglocator.service.TableService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tables")
+@RequiredArgsConstructor
+@Tag(name = "Tables", description = "Restaurant table management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class TableController {
+
+    private final TableService tableService;
+
+    @GetMapping
+    @Operation(summary = "Get tables", description = "List all restaurant tables (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TableResponse>> getTables() {
+        return ResponseEntity.ok(tableService.getTables());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get table by ID", description = "Get a restaurant table by ID (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TableResponse> getTable(@PathVariable Long id) {
+        return ResponseEntity.ok(tableService.getTable(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create table", description = "Create a restaurant table (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TableResponse> createTable(@Valid @RequestBody TableRequest request) {
+        TableResponse response = tableService.createTable(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update table", description = "Update a restaurant table (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TableResponse> updateTable(@PathVariable Long id, @Valid @RequestBody TableRequest request) {
+        return ResponseEntity.ok(tableService.updateTable(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete table", description = "Delete a restaurant table (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteTable(@PathVariable Long id) {
+        tableService.deleteTable(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.qrcode.orderinglocator.dto.menu;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryProductsResponse {
+    
+    private Long categoryId;
+    private List<MenuResponse.ProductResponse> products;
+    private Long nextCursor; // product ID to pass as 'after' for the next page, null on the last page
+}
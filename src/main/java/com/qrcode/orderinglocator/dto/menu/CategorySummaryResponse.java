@@ -0,0 +1,17 @@
+package com.qrcode.orderinglocator.dto.menu;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummaryResponse {
+    
+    private Long id;
+    private String name;
+    private Long productCount;
+}
@@ -0,0 +1,48 @@
+package com.qrcode.orderinglocator.dto.menu;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuChangesResponse {
+    
+    private Long sinceVersion;
+    private String epoch; // the version is only meaningful to the server start that counted it
+    private long version;
+    private boolean fullSnapshot; // true when the client must replace its copy instead of patching it
+    private MenuResponse.RestaurantInfo restaurant; // only set when it changed
+    private List<CategoryChange> categories;
+    private List<ProductChange> products;
+    private List<Long> removedCategoryIds;
+    private List<Long> removedProductIds;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryChange {
+        private Long id;
+        private String name;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductChange {
+        private Long id;
+        private Long categoryId;
+        private String name;
+        private String description;
+        private String imageUrl;
+        private BigDecimal price;
+    }
+}
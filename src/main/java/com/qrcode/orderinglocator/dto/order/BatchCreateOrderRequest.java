@@ -0,0 +1,19 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCreateOrderRequest {
+    
+    public static final int MAX_ORDERS = 100;
+    
+    @NotEmpty(message = "Orders cannot be empty")
+    @Size(max = MAX_ORDERS, message = "At most " + MAX_ORDERS + " orders can be submitted at once")
+    @Valid
+    private List<CreateOrderRequest> orders;
+}
@@ -0,0 +1,30 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateOrderResponse {
+    
+    private int created;
+    private int failed;
+    private List<OrderResult> results; // Same order as the submitted orders
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderResult {
+        private int index;
+        private int status; // HTTP status the order would have got on its own
+        private OrderResponse order;
+        private String error;
+    }
+}
@@ -0,0 +1,35 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import com.qrcode.orderinglocator.entity.Order;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class BulkUpdateOrderStatusRequest {
+    
+    public static final int MAX_TRANSITIONS = 100;
+    
+    @NotEmpty(message = "Transitions cannot be empty")
+    @Size(max = MAX_TRANSITIONS, message = "At most " + MAX_TRANSITIONS + " orders can be updated at once")
+    @Valid
+    private List<Transition> transitions;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Transition {
+        
+        @NotNull(message = "Order ID is required")
+        private Long orderId;
+        
+        @NotNull(message = "Status is required")
+        private Order.OrderStatus status;
+    }
+}
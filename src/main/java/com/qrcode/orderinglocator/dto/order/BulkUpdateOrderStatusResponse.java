@@ -0,0 +1,32 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import com.qrcode.orderinglocator.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateOrderStatusResponse {
+    
+    private int updated;
+    private int failed;
+    private List<TransitionResult> results; // Same order as the submitted transitions
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransitionResult {
+        private int index;
+        private Long orderId;
+        private int status; // HTTP status the transition would have got on its own
+        private Order.OrderStatus orderStatus; // Status of the order afterwards, when it exists
+        private String error;
+    }
+}
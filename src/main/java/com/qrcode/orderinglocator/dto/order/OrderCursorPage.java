@@ -0,0 +1,19 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCursorPage {
+
+    private List<OrderResponse> content; // Newest first
+    private int size;
+    private String nextCursor; // Null on the last page
+}
@@ -0,0 +1,13 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import java.math.BigDecimal;
+
+/**
+ * One order line with its product name, keyed by the order it belongs to.
+ */
+public record OrderItemRow(Long orderId, Long id, Long productId, String productName, Integer quantity, BigDecimal price) {
+
+    public OrderResponse.OrderItemResponse toResponse() {
+        return new OrderResponse.OrderItemResponse(id, productId, productName, quantity, price);
+    }
+}
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderResponse {
@@ -26,6 +26,14 @@ public class OrderResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<OrderItemResponse> items;
+    private PersistenceState persistenceState;
+    
+    /**
+     * ACCEPTED orders were acknowledged before their row was written; GET reports PERSISTED once it is durable.
+     */
+    public enum PersistenceState {
+        ACCEPTED, PERSISTED, FAILED
+    }
     
     @Data
     @Builder
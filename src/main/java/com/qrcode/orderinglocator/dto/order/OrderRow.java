@@ -0,0 +1,31 @@
+package com.qrcode.orderinglocator.dto.order;
+
+import com.qrcode.orderinglocator.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The columns of an order that {@link OrderResponse} shows, read in one flat row with its customer and table.
+ */
+public record OrderRow(Long id, Long customerId, String customerName, Long tableId, Integer tableNumber,
+                       BigDecimal totalPrice, Order.OrderStatus status,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public OrderResponse toResponse(List<OrderResponse.OrderItemResponse> items) {
+        return OrderResponse.builder()
+                .id(id)
+                .customerId(customerId)
+                .customerName(customerName)
+                .tableId(tableId)
+                .tableNumber(tableNumber)
+                .totalPrice(totalPrice)
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .items(items)
+                .persistenceState(OrderResponse.PersistenceState.PERSISTED)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.qrcode.orderinglocator.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse {
+    
+    private String query;
+    private List<ProductResult> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductResult {
+        private Long id;
+        private Long categoryId;
+        private String name;
+        private String description;
+        private String imageUrl;
+        private BigDecimal price;
+    }
+}
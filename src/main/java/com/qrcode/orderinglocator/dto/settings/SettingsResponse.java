@@ -0,0 +1,26 @@
+package com.qrcode.orderinglocator.dto.settings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettingsResponse {
+    
+    private Long id;
+    private String name;
+    private String logoUrl;
+    private String address;
+    private String workingHours;
+    private String aboutImageUrl;
+    private String aboutDescription;
+    private String termsAndConditions;
+    private String facebookUrl;
+    private String whatsappNumber;
+    private String phoneNumber;
+    private String secondPhoneNumber;
+}
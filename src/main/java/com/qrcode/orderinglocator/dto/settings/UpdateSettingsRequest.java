@@ -0,0 +1,22 @@
+package com.qrcode.orderinglocator.dto.settings;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class UpdateSettingsRequest {
+    
+    @NotBlank(message = "Restaurant name is required")
+    private String name;
+    
+    private String logoUrl;
+    private String address;
+    private String workingHours;
+    private String aboutImageUrl;
+    private String aboutDescription;
+    private String termsAndConditions;
+    private String facebookUrl;
+    private String whatsappNumber;
+    private String phoneNumber;
+    private String secondPhoneNumber;
+}
@@ -0,0 +1,15 @@
+package com.qrcode.orderinglocator.dto.table;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class TableRequest {
+    
+    @NotNull(message = "Table number is required")
+    @Positive(message = "Table number must be positive")
+    private Integer number;
+    
+    private String qrCodeUrl;
+}
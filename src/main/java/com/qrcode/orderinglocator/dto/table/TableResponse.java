@@ -0,0 +1,17 @@
+package com.qrcode.orderinglocator.dto.table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableResponse {
+    
+    private Long id;
+    private Integer number;
+    private String qrCodeUrl;
+}
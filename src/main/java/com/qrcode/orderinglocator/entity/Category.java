@@ -1,5 +1,6 @@
 package com.qrcode.orderinglocator.entity;
 
+import com.qrcode.orderinglocator.event.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "categories")
 @Data
 @Builder
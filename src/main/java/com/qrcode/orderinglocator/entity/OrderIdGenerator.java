@@ -0,0 +1,19 @@
+package com.qrcode.orderinglocator.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * The pooled {@code orders_seq} generator, except that an order whose id was reserved up front
+ * by {@link com.qrcode.orderinglocator.repository.OrderIdAllocator} is inserted under that id.
+ */
+public class OrderIdGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof Order order && order.getPreallocatedId() != null) {
+            return order.getPreallocatedId();
+        }
+        return super.generate(session, object);
+    }
+}
@@ -1,5 +1,6 @@
 package com.qrcode.orderinglocator.entity;
 
+import com.qrcode.orderinglocator.event.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "settings")
 @Data
 @Builder
@@ -0,0 +1,40 @@
+package com.qrcode.orderinglocator.event;
+
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+import com.qrcode.orderinglocator.entity.Settings;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns writes on cached entities into {@link EntityChangedEvent}s.
+ * Hibernate resolves it through Spring's bean container, so the publisher is injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(entity.getClass(), idOf(entity)));
+    }
+
+    private Long idOf(Object entity) {
+        return switch (entity) {
+            case Category category -> category.getId();
+            case Product product -> product.getId();
+            case Settings settings -> settings.getId();
+            case RestaurantTable table -> table.getId();
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.qrcode.orderinglocator.event;
+
+/**
+ * Published whenever a cached entity (menu catalog, settings, ...) is inserted, updated or deleted.
+ * Listeners that keep in-memory copies should react after the surrounding transaction commits.
+ */
+public record EntityChangedEvent(Class<?> entityType, Long entityId) {
+
+    public boolean concerns(Class<?>... types) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(entityType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
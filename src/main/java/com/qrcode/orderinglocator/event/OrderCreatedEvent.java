@@ -0,0 +1,9 @@
+package com.qrcode.orderinglocator.event;
+
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+
+/**
+ * Published for every order inserted, so live views can show it once its transaction commits.
+ */
+public record OrderCreatedEvent(OrderResponse order) {
+}
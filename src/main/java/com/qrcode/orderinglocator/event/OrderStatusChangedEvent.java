@@ -0,0 +1,11 @@
+package com.qrcode.orderinglocator.event;
+
+import com.qrcode.orderinglocator.entity.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published for every order moved to a new status, by single and bulk transitions alike.
+ */
+public record OrderStatusChangedEvent(Long orderId, Order.OrderStatus status, LocalDateTime changedAt) {
+}
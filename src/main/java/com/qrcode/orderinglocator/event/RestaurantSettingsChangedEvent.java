@@ -0,0 +1,7 @@
+package com.qrcode.orderinglocator.event;
+
+/**
+ * Published by the settings provider once it has reloaded, so dependants rebuild from the new values.
+ */
+public record RestaurantSettingsChangedEvent(long version) {
+}
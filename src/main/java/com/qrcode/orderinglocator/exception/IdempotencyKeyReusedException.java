@@ -0,0 +1,7 @@
+package com.qrcode.orderinglocator.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.qrcode.orderinglocator.exception;
+
+public class OrderIngestionBusyException extends RuntimeException {
+    public OrderIngestionBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.qrcode.orderinglocator.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OrderWriteInProgressException extends RuntimeException {
+
+    private final Long orderId;
+
+    public OrderWriteInProgressException(Long orderId) {
+        super("Order " + orderId + " is still being written; check it before placing the order again");
+        this.orderId = orderId;
+    }
+}
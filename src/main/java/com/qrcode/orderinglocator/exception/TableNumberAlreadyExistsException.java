@@ -0,0 +1,7 @@
+package com.qrcode.orderinglocator.exception;
+
+public class TableNumberAlreadyExistsException extends RuntimeException {
+    public TableNumberAlreadyExistsException(String message) {
+        super(message);
+    }
+}
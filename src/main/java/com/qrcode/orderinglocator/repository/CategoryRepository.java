@@ -1,5 +1,6 @@
 package com.qrcode.orderinglocator.repository;
 
+import com.qrcode.orderinglocator.dto.menu.CategorySummaryResponse;
 import com.qrcode.orderinglocator.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,5 +15,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.products p ORDER BY c.id")
     List<Category> findAllWithProducts();
     
+    @Query("SELECT new com.qrcode.orderinglocator.dto.menu.CategorySummaryResponse(c.id, c.name, COUNT(p.id)) FROM Category c LEFT JOIN c.products p GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategorySummaryResponse> findCategorySummaries();
+    
     Optional<Category> findByName(String name);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.qrcode.orderinglocator.repository;
+
+import com.qrcode.orderinglocator.entity.Order;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserves order ids before the order is inserted. Ids come from the same pooled generator
+ * Hibernate uses for orders, so reserved and generated ids never collide.
+ */
+@Component
+public class OrderIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public OrderIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    public Long next() {
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Order.class)
+                .getGenerator();
+        // Only touches the database when the current block of ids is used up
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return ((Number) generator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT)).longValue();
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.qrcode.orderinglocator.repository;
 
 import com.qrcode.orderinglocator.entity.Order;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRowQueries {
     
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.table WHERE o.id = :id")
     Optional<Order> findByIdWithDetails(@Param("id") Long id);
@@ -22,7 +28,60 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByTableId(Long tableId);
     
     List<Order> findByStatus(Order.OrderStatus status);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.table WHERE o.status IN :statuses ORDER BY o.id")
+    List<Order> findByStatusInWithDetails(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<Order.OrderStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Moves the order to {@code next} only if it is still in {@code expected}; returns 0 when it is not.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.updatedAt = :now, o.version = o.version + 1 WHERE o.id = :id AND o.status = :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") Order.OrderStatus expected,
+                         @Param("next") Order.OrderStatus next,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the orders for the rest of the transaction, in id order so that concurrent bulk updates cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.updatedAt = :now, o.version = o.version + 1 WHERE o.id IN :ids AND o.status = :expected")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("expected") Order.OrderStatus expected,
+                           @Param("next") Order.OrderStatus next,
+                           @Param("now") LocalDateTime now);
     
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.table WHERE (:tableId IS NULL OR o.table.id = :tableId) AND (:status IS NULL OR o.status = :status) ORDER BY o.createdAt DESC")
-    Page<Order> findOrdersWithFilters(@Param("tableId") Long tableId, @Param("status") Order.OrderStatus status, Pageable pageable);
+    /**
+     * First half of the order listing: pages over ids alone, so the database applies the limit. Fetch-joining the
+     * items here would make Hibernate read every matching row and page in memory.
+     */
+    @Query(value = "SELECT o.id FROM Order o WHERE (:tableId IS NULL OR o.table.id = :tableId) AND (:status IS NULL OR o.status = :status) ORDER BY o.createdAt DESC, o.id DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE (:tableId IS NULL OR o.table.id = :tableId) AND (:status IS NULL OR o.status = :status)")
+    Page<Long> findOrderIdsWithFilters(@Param("tableId") Long tableId, @Param("status") Order.OrderStatus status, Pageable pageable);
+
+    /**
+     * Newest order ids for cursor paging; like {@link #findOrderIdsWithFilters} but without the count.
+     */
+    @Query("SELECT o.id FROM Order o WHERE (:tableId IS NULL OR o.table.id = :tableId) AND (:status IS NULL OR o.status = :status) ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Long> findOrderIdSliceWithFilters(@Param("tableId") Long tableId, @Param("status") Order.OrderStatus status, Pageable pageable);
+
+    /**
+     * Order ids older than the given position. The {@code createdAt <=} bound lets an index on {@code (created_at, id)}
+     * seek straight to the position however deep it is; the rest only settles ties within the same instant.
+     */
+    @Query("SELECT o.id FROM Order o WHERE (:tableId IS NULL OR o.table.id = :tableId) AND (:status IS NULL OR o.status = :status) AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Long> findOrderIdSliceBefore(@Param("tableId") Long tableId,
+                                       @Param("status") Order.OrderStatus status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.qrcode.orderinglocator.repository;
+
+import com.qrcode.orderinglocator.dto.order.OrderItemRow;
+import com.qrcode.orderinglocator.dto.order.OrderRow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only views of orders for responses: only the shown columns, and no managed entities. Single-order lookups
+ * bind a plain id, since Hibernate translates a query with a list parameter afresh on every execution.
+ */
+public interface OrderRowQueries {
+
+    Optional<OrderRow> findRowById(Long id);
+
+    List<OrderItemRow> findItemRowsByOrderId(Long orderId);
+
+    List<OrderRow> findRowsByIdIn(Collection<Long> ids);
+
+    List<OrderItemRow> findItemRowsByOrderIdIn(Collection<Long> orderIds);
+}
@@ -0,0 +1,55 @@
+package com.qrcode.orderinglocator.repository;
+
+import com.qrcode.orderinglocator.dto.order.OrderItemRow;
+import com.qrcode.orderinglocator.dto.order.OrderRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs the row queries on the EntityManager directly: Spring Data 3.2 re-parses a declared {@code @Query} on every
+ * call, which allocates more than reading the rows themselves.
+ */
+class OrderRowQueriesImpl implements OrderRowQueries {
+
+    private static final String ORDER_ROW = "SELECT new com.qrcode.orderinglocator.dto.order.OrderRow(o.id, c.id, c.name, t.id, t.number, "
+            + "o.totalPrice, o.status, o.createdAt, o.updatedAt) FROM Order o LEFT JOIN o.customer c LEFT JOIN o.table t ";
+    private static final String ITEM_ROW = "SELECT new com.qrcode.orderinglocator.dto.order.OrderItemRow(oi.order.id, oi.id, p.id, p.name, "
+            + "oi.quantity, oi.price) FROM OrderItem oi JOIN oi.product p ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<OrderRow> findRowById(Long id) {
+        return entityManager.createQuery(ORDER_ROW + "WHERE o.id = :id", OrderRow.class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<OrderItemRow> findItemRowsByOrderId(Long orderId) {
+        return entityManager.createQuery(ITEM_ROW + "WHERE oi.order.id = :orderId ORDER BY oi.id", OrderItemRow.class)
+                .setParameter("orderId", orderId)
+                .getResultList();
+    }
+
+    @Override
+    public List<OrderRow> findRowsByIdIn(Collection<Long> ids) {
+        return entityManager.createQuery(ORDER_ROW + "WHERE o.id IN :ids", OrderRow.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<OrderItemRow> findItemRowsByOrderIdIn(Collection<Long> orderIds) {
+        return entityManager.createQuery(ITEM_ROW + "WHERE oi.order.id IN :orderIds ORDER BY oi.id", OrderItemRow.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+}
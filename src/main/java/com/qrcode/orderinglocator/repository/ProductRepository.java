@@ -1,7 +1,11 @@
 package com.qrcode.orderinglocator.repository;
 
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
 import com.qrcode.orderinglocator.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +14,7 @@ import java.util.List;
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
     List<Product> findByCategoryId(Long categoryId);
+    
+    @Query("SELECT new com.qrcode.orderinglocator.dto.menu.MenuResponse$ProductResponse(p.id, p.name, p.description, p.imageUrl, p.price) FROM Product p WHERE p.category.id = :categoryId AND p.id > :afterId ORDER BY p.id")
+    List<MenuResponse.ProductResponse> findMenuProductsAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -4,6 +4,10 @@ import com.qrcode.orderinglocator.entity.Settings;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface SettingsRepository extends JpaRepository<Settings, Long> {
+    
+    Optional<Settings> findFirstByOrderByIdAsc();
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.qrcode.orderinglocator.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -58,19 +59,24 @@ public class SecurityConfig {
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streams were authorized when they opened; their async dispatch carries no token
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/menu").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/menu", "/api/menu/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/enquiries").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/api-docs/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 
                 // Order endpoints - customers can create and view their own orders
                 .requestMatchers(HttpMethod.POST, "/api/orders").hasAnyRole("CUSTOMER", "ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/orders/batch").hasAnyRole("CUSTOMER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/orders/**").hasAnyRole("CUSTOMER", "CASHIER", "ADMIN")
                 .requestMatchers(HttpMethod.PATCH, "/api/orders/*/status").hasAnyRole("CASHIER", "ADMIN")
+                .requestMatchers(HttpMethod.PATCH, "/api/orders/status").hasAnyRole("CASHIER", "ADMIN")
                 
                 // Review endpoints - only customers can create reviews
                 .requestMatchers(HttpMethod.POST, "/api/orders/*/reviews").hasRole("CUSTOMER")
@@ -81,6 +87,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/tables/**").hasRole("ADMIN")
                 .requestMatchers("/api/settings/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/enquiries").hasRole("ADMIN")
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                 
                 // All other requests need authentication
                 .anyRequest().authenticated()
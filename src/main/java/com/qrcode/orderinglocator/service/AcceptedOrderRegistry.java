@@ -0,0 +1,51 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.util.ExpiringLruCache;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders acknowledged with 202 whose row is not durable yet. An order leaves the registry once its
+ * transaction commits, so a miss here means the database has the answer. Orders that could not be
+ * written are remembered as FAILED for a while so clients polling for them get an answer.
+ */
+@Component
+public class AcceptedOrderRegistry {
+
+    private static final int MAX_FAILED_ORDERS = 10_000;
+    private static final Duration FAILED_ORDER_RETENTION = Duration.ofHours(1);
+
+    private final Map<Long, OrderResponse> accepted = new ConcurrentHashMap<>();
+    private final ExpiringLruCache<Long, OrderResponse> failed =
+            new ExpiringLruCache<>(MAX_FAILED_ORDERS, FAILED_ORDER_RETENTION);
+
+    public void accepted(OrderResponse order) {
+        accepted.put(order.getId(), order);
+    }
+
+    public void persisted(Long orderId) {
+        accepted.remove(orderId);
+    }
+
+    public void failed(Long orderId) {
+        OrderResponse order = accepted.get(orderId);
+        if (order != null) {
+            failed.put(orderId, order.toBuilder().persistenceState(OrderResponse.PersistenceState.FAILED).build());
+            accepted.remove(orderId);
+        }
+    }
+
+    public void discard(Long orderId) {
+        accepted.remove(orderId);
+    }
+
+    public Optional<OrderResponse> find(Long orderId) {
+        OrderResponse order = accepted.get(orderId);
+        return order != null ? Optional.of(order) : failed.get(orderId);
+    }
+}
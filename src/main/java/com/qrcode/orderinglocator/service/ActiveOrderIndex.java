@@ -0,0 +1,206 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.event.OrderCreatedEvent;
+import com.qrcode.orderinglocator.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of every order that has not been delivered, by id, status and table. Loaded once and then kept
+ * current from order events after their transaction commits, so any number of live boards read it without
+ * touching the database. Listeners see the changes in the order they were applied; a DELIVERED order leaves.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveOrderIndex {
+
+    private final OrderService orderService;
+
+    // A lock rather than synchronized: the first load waits on JDBC, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NavigableMap<Long, OrderResponse> byId = new TreeMap<>();
+    private final Map<Order.OrderStatus, Set<Long>> byStatus = new EnumMap<>(Order.OrderStatus.class);
+    private final Map<Long, Set<Long>> byTable = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private boolean loaded;
+
+    /**
+     * Receives changes to the index. Called while the index is locked, so implementations must only hand off.
+     */
+    public interface Listener {
+
+        void onSnapshot(List<OrderResponse> orders);
+
+        void onChange(OrderResponse order);
+    }
+
+    /**
+     * Hands the listener the active orders matching the filter and then every later change, with nothing in between
+     * missed or repeated. Null or empty filters match everything.
+     */
+    public void subscribe(Set<Order.OrderStatus> statuses, Long tableId, Listener listener) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            listener.onSnapshot(find(statuses, tableId));
+            listeners.add(listener);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Active orders in the given statuses and at the given table, oldest first.
+     */
+    public List<OrderResponse> find(Set<Order.OrderStatus> statuses, Long tableId) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            Collection<Long> candidates;
+            if (tableId != null) {
+                candidates = byTable.getOrDefault(tableId, Set.of());
+            } else if (statuses != null && !statuses.isEmpty()) {
+                candidates = new TreeSet<>();
+                for (Order.OrderStatus status : statuses) {
+                    candidates.addAll(byStatus.getOrDefault(status, Set.of()));
+                }
+            } else {
+                candidates = byId.keySet();
+            }
+
+            List<OrderResponse> orders = new ArrayList<>(candidates.size());
+            for (Long id : candidates) {
+                OrderResponse order = byId.get(id);
+                if (statuses == null || statuses.isEmpty() || statuses.contains(order.getStatus())) {
+                    orders.add(order);
+                }
+            }
+            return orders;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            ensureLoaded();
+            return byId.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        lock.lock();
+        try {
+            // Until the first load the database is the only copy; the load will pick this order up
+            if (loaded) {
+                apply(event.order());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        lock.lock();
+        try {
+            if (!loaded || event.status() == Order.OrderStatus.DELIVERED && !byId.containsKey(event.orderId())) {
+                return;
+            }
+            OrderResponse known = byId.get(event.orderId());
+            if (known != null) {
+                apply(known.toBuilder().status(event.status()).updatedAt(event.changedAt()).build());
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Moved before its creation reached us, or created on another node: read it outside the lock
+        Optional<OrderResponse> order = orderService.findOrder(event.orderId());
+        lock.lock();
+        try {
+            order.ifPresent(this::apply);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<OrderResponse> orders = orderService.getActiveOrders();
+        for (OrderResponse order : orders) {
+            index(order);
+        }
+        loaded = true;
+        log.info("Loaded {} active orders into the order index", orders.size());
+    }
+
+    private void apply(OrderResponse order) {
+        OrderResponse current = byId.get(order.getId());
+        if (current != null && current.getStatus().compareTo(order.getStatus()) >= 0) {
+            // Statuses only move forward, so this is a late copy of something already applied
+            return;
+        }
+        if (current != null) {
+            unindex(current);
+        }
+        if (order.getStatus() != Order.OrderStatus.DELIVERED) {
+            index(order);
+        } else if (current == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.onChange(order);
+        }
+    }
+
+    private void index(OrderResponse order) {
+        byId.put(order.getId(), order);
+        byStatus.computeIfAbsent(order.getStatus(), status -> new TreeSet<>()).add(order.getId());
+        if (order.getTableId() != null) {
+            byTable.computeIfAbsent(order.getTableId(), table -> new TreeSet<>()).add(order.getId());
+        }
+    }
+
+    private void unindex(OrderResponse order) {
+        byId.remove(order.getId());
+        byStatus.get(order.getStatus()).remove(order.getId());
+        if (order.getTableId() != null) {
+            Set<Long> atTable = byTable.get(order.getTableId());
+            atTable.remove(order.getId());
+            if (atTable.isEmpty()) {
+                byTable.remove(order.getTableId());
+            }
+        }
+    }
+}
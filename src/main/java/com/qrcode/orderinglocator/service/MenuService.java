@@ -1,97 +1,187 @@
 package com.qrcode.orderinglocator.service;
 
+import com.qrcode.orderinglocator.cache.MenuChangeLog;
+import com.qrcode.orderinglocator.cache.MenuPayload;
+import com.qrcode.orderinglocator.cache.MenuPayloadCache;
+import com.qrcode.orderinglocator.cache.MenuSnapshot;
+import com.qrcode.orderinglocator.cache.MenuSnapshotCache;
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.cache.TableEntry;
+import com.qrcode.orderinglocator.dto.menu.CategoryProductsResponse;
+import com.qrcode.orderinglocator.dto.menu.CategorySummaryResponse;
+import com.qrcode.orderinglocator.dto.menu.MenuChangesResponse;
 import com.qrcode.orderinglocator.dto.menu.MenuResponse;
-import com.qrcode.orderinglocator.entity.Category;
-import com.qrcode.orderinglocator.entity.Product;
-import com.qrcode.orderinglocator.entity.RestaurantTable;
-import com.qrcode.orderinglocator.entity.Settings;
 import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
 import com.qrcode.orderinglocator.repository.CategoryRepository;
-import com.qrcode.orderinglocator.repository.RestaurantTableRepository;
-import com.qrcode.orderinglocator.repository.SettingsRepository;
+import com.qrcode.orderinglocator.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MenuService {
 
+    private static final int MAX_PRODUCT_PAGE_SIZE = 100;
+
+    private final TableDirectory tableDirectory;
     private final CategoryRepository categoryRepository;
-    private final RestaurantTableRepository tableRepository;
-    private final SettingsRepository settingsRepository;
+    private final ProductRepository productRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuPayloadCache menuPayloadCache;
 
-    @Transactional(readOnly = true)
     public MenuResponse getMenu(Long tableId) {
-        log.info("Fetching menu for table ID: {}", tableId);
-        
-        // Get table information
-        MenuResponse.TableInfo tableInfo = null;
-        if (tableId != null) {
-            RestaurantTable table = tableRepository.findById(tableId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + tableId));
-            
-            tableInfo = MenuResponse.TableInfo.builder()
-                    .id(table.getId())
-                    .number(table.getNumber())
-                    .build();
+        log.debug("Fetching menu for table ID: {}", tableId);
+
+        MenuResponse.TableInfo tableInfo = resolveTable(tableId);
+
+        // Restaurant info and categories come from the shared snapshot
+        return menuSnapshotCache.current().toResponse(tableInfo);
+    }
+
+    public MenuPayload getMenuPayload(Long tableId) {
+        log.debug("Fetching serialized menu for table ID: {}", tableId);
+
+        return menuPayloadCache.get(resolveTable(tableId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySummaryResponse> getCategorySummaries() {
+        log.debug("Fetching menu category summaries");
+
+        return categoryRepository.findCategorySummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryProductsResponse getCategoryProducts(Long categoryId, Long afterProductId, int size) {
+        log.debug("Fetching products for category {} after product {}", categoryId, afterProductId);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PRODUCT_PAGE_SIZE));
+        long afterId = afterProductId != null ? afterProductId : 0L;
+
+        // Fetch one extra row to know whether another page exists
+        List<MenuResponse.ProductResponse> products = productRepository.findMenuProductsAfter(
+                categoryId, afterId, Limit.of(pageSize + 1));
+
+        if (products.isEmpty() && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with ID: " + categoryId);
+        }
+
+        Long nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = products.get(pageSize - 1).getId();
         }
 
-        // Get restaurant information
-        Settings settings = settingsRepository.findAll().stream().findFirst()
-                .orElse(null);
-        
-        MenuResponse.RestaurantInfo restaurantInfo = null;
-        if (settings != null) {
-            restaurantInfo = MenuResponse.RestaurantInfo.builder()
-                    .name(settings.getName())
-                    .logoUrl(settings.getLogoUrl())
-                    .address(settings.getAddress())
-                    .workingHours(settings.getWorkingHours())
-                    .facebookUrl(settings.getFacebookUrl())
-                    .whatsappNumber(settings.getWhatsappNumber())
-                    .phoneNumber(settings.getPhoneNumber())
-                    .build();
+        return CategoryProductsResponse.builder()
+                .categoryId(categoryId)
+                .products(products)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public MenuChangesResponse getMenuChanges(String sinceEpoch, Long sinceVersion) {
+        log.debug("Fetching menu changes since version: {} of epoch: {}", sinceVersion, sinceEpoch);
+
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+        if (sinceVersion == null) {
+            return fullSnapshot(snapshot, null);
+        }
+
+        // A version from another start or another node is no base for a delta, so it gets the full menu
+        return menuSnapshotCache.changesBetween(sinceEpoch, sinceVersion, snapshot.version())
+                .map(changes -> delta(snapshot, sinceVersion, changes))
+                .orElseGet(() -> fullSnapshot(snapshot, sinceVersion));
+    }
+
+    private MenuChangesResponse delta(MenuSnapshot snapshot, long sinceVersion, MenuChangeLog.Changes changes) {
+        List<MenuChangesResponse.CategoryChange> categories = new ArrayList<>();
+        List<MenuChangesResponse.ProductChange> products = new ArrayList<>();
+        Set<Long> removedCategoryIds = new HashSet<>(changes.categoryIds());
+        Set<Long> removedProductIds = new HashSet<>(changes.productIds());
+
+        // Whatever changed and is still on the menu is sent with its current values, the rest was removed
+        for (MenuResponse.CategoryResponse category : snapshot.categories()) {
+            if (removedCategoryIds.remove(category.getId())) {
+                categories.add(mapCategoryToChange(category));
+            }
+            for (MenuResponse.ProductResponse product : category.getProducts()) {
+                if (removedProductIds.remove(product.getId())) {
+                    products.add(mapProductToChange(category, product));
+                }
+            }
         }
 
-        // Get categories with products
-        List<Category> categories = categoryRepository.findAllWithProducts();
-        
-        List<MenuResponse.CategoryResponse> categoryResponses = categories.stream()
-                .map(this::mapCategoryToResponse)
-                .collect(Collectors.toList());
-
-        return MenuResponse.builder()
-                .table(tableInfo)
-                .restaurant(restaurantInfo)
-                .categories(categoryResponses)
+        return MenuChangesResponse.builder()
+                .sinceVersion(sinceVersion)
+                .epoch(menuSnapshotCache.epoch())
+                .version(snapshot.version())
+                .fullSnapshot(false)
+                .restaurant(changes.restaurantChanged() ? snapshot.restaurant() : null)
+                .categories(categories)
+                .products(products)
+                .removedCategoryIds(removedCategoryIds.stream().sorted().toList())
+                .removedProductIds(removedProductIds.stream().sorted().toList())
                 .build();
     }
 
-    private MenuResponse.CategoryResponse mapCategoryToResponse(Category category) {
-        List<MenuResponse.ProductResponse> productResponses = category.getProducts().stream()
-                .map(this::mapProductToResponse)
-                .collect(Collectors.toList());
+    private MenuChangesResponse fullSnapshot(MenuSnapshot snapshot, Long sinceVersion) {
+        List<MenuChangesResponse.CategoryChange> categories = new ArrayList<>();
+        List<MenuChangesResponse.ProductChange> products = new ArrayList<>();
+        for (MenuResponse.CategoryResponse category : snapshot.categories()) {
+            categories.add(mapCategoryToChange(category));
+            for (MenuResponse.ProductResponse product : category.getProducts()) {
+                products.add(mapProductToChange(category, product));
+            }
+        }
+
+        return MenuChangesResponse.builder()
+                .sinceVersion(sinceVersion)
+                .epoch(menuSnapshotCache.epoch())
+                .version(snapshot.version())
+                .fullSnapshot(true)
+                .restaurant(snapshot.restaurant())
+                .categories(categories)
+                .products(products)
+                .removedCategoryIds(List.of())
+                .removedProductIds(List.of())
+                .build();
+    }
 
-        return MenuResponse.CategoryResponse.builder()
+    private MenuChangesResponse.CategoryChange mapCategoryToChange(MenuResponse.CategoryResponse category) {
+        return MenuChangesResponse.CategoryChange.builder()
                 .id(category.getId())
                 .name(category.getName())
-                .products(productResponses)
                 .build();
     }
 
-    private MenuResponse.ProductResponse mapProductToResponse(Product product) {
-        return MenuResponse.ProductResponse.builder()
+    private MenuChangesResponse.ProductChange mapProductToChange(MenuResponse.CategoryResponse category,
+                                                                 MenuResponse.ProductResponse product) {
+        return MenuChangesResponse.ProductChange.builder()
                 .id(product.getId())
+                .categoryId(category.getId())
                 .name(product.getName())
                 .description(product.getDescription())
                 .imageUrl(product.getImageUrl())
                 .price(product.getPrice())
                 .build();
     }
-}
\ No newline at end of file
+
+    private MenuResponse.TableInfo resolveTable(Long tableId) {
+        if (tableId == null) {
+            return null;
+        }
+
+        return tableDirectory.findById(tableId)
+                .map(TableEntry::toTableInfo)
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + tableId));
+    }
+}
@@ -0,0 +1,170 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.config.OrderBoardProperties;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the live order board to kitchen and counter screens as Server-Sent Events. Each stream starts with a
+ * {@code snapshot} of the matching active orders, then gets an {@code order} event whenever one appears or moves
+ * and a {@code removed} event when one is delivered or no longer matches its filter. All streams are written by
+ * one broadcaster thread from the {@link ActiveOrderIndex}, so screens add no database work.
+ */
+@Service
+@Slf4j
+public class OrderBoardService implements SmartLifecycle {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String ORDER_EVENT = "order";
+    static final String REMOVED_EVENT = "removed";
+
+    private final ActiveOrderIndex activeOrderIndex;
+    private final OrderBoardProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile ScheduledExecutorService broadcaster;
+
+    public OrderBoardService(ActiveOrderIndex activeOrderIndex, OrderBoardProperties properties, MeterRegistry meterRegistry) {
+        this.activeOrderIndex = activeOrderIndex;
+        this.properties = properties;
+        Gauge.builder("orders.board.subscribers", subscribers, Collection::size)
+                .description("Open live order board streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the active orders in the given statuses and at the given table; null matches any.
+     */
+    public SseEmitter subscribe(Set<Order.OrderStatus> statuses, Long tableId) {
+        ScheduledExecutorService executor = broadcaster;
+        if (executor == null) {
+            throw new IllegalStateException("The order board is not running");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(properties.getTimeout().toMillis()), executor,
+                statuses == null || statuses.isEmpty() ? null : Set.copyOf(statuses), tableId);
+        subscriber.emitter.onCompletion(() -> close(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+        activeOrderIndex.subscribe(subscriber.statuses, tableId, subscriber);
+        log.debug("Order board stream opened (statuses: {}, table: {}), {} open", statuses, tableId, subscribers.size());
+        return subscriber.emitter;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (broadcaster != null) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-board-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        executor.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        broadcaster = executor;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (broadcaster == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            activeOrderIndex.unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        broadcaster.shutdownNow();
+        broadcaster = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return broadcaster != null;
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            activeOrderIndex.unsubscribe(subscriber);
+            log.debug("Order board stream closed, {} open", subscribers.size());
+        }
+    }
+
+    private final class Subscriber implements ActiveOrderIndex.Listener {
+
+        private final SseEmitter emitter;
+        private final ScheduledExecutorService executor;
+        private final Set<Order.OrderStatus> statuses;
+        private final Long tableId;
+        // Only touched on the broadcaster thread
+        private final Set<Long> shown = new HashSet<>();
+
+        private Subscriber(SseEmitter emitter, ScheduledExecutorService executor,
+                           Set<Order.OrderStatus> statuses, Long tableId) {
+            this.emitter = emitter;
+            this.executor = executor;
+            this.statuses = statuses;
+            this.tableId = tableId;
+        }
+
+        @Override
+        public void onSnapshot(List<OrderResponse> orders) {
+            executor.execute(() -> {
+                orders.forEach(order -> shown.add(order.getId()));
+                send(SseEmitter.event().name(SNAPSHOT_EVENT).data(orders));
+            });
+        }
+
+        @Override
+        public void onChange(OrderResponse order) {
+            executor.execute(() -> {
+                if (matches(order)) {
+                    shown.add(order.getId());
+                    send(SseEmitter.event().name(ORDER_EVENT).data(order));
+                } else if (shown.remove(order.getId())) {
+                    send(SseEmitter.event().name(REMOVED_EVENT).data(order));
+                }
+            });
+        }
+
+        private boolean matches(OrderResponse order) {
+            return order.getStatus() != Order.OrderStatus.DELIVERED
+                    && (statuses == null || statuses.contains(order.getStatus()))
+                    && (tableId == null || tableId.equals(order.getTableId()));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The screen went away; the container completes the emitter, this only stops further sends
+                log.debug("Dropping order board stream: {}", e.getMessage());
+                close(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.qrcode.orderinglocator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.IdempotencyRecord;
+import com.qrcode.orderinglocator.exception.IdempotencyKeyReusedException;
+import com.qrcode.orderinglocator.exception.InvalidIdempotencyKeyException;
+import com.qrcode.orderinglocator.repository.IdempotencyRecordRepository;
+import com.qrcode.orderinglocator.security.CustomUserDetails;
+import com.qrcode.orderinglocator.util.ExpiringLruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates orders at most once per {@code Idempotency-Key} and customer. Recent keys are answered from memory,
+ * older ones from the {@code idempotency_keys} table, whose row is written in the same transaction as the order.
+ * A key expires after the ttl, in memory and in the table, after which it may be used for a new order.
+ * <p>
+ * New orders go through {@link OrderIngestionService}, so with group commit on they share the writer's transactions,
+ * and the key row is written in the transaction that inserts the order. They are always answered once written, never with an
+ * early 202: until that transaction commits, no node can see the key, and a retry would create a second order.
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final ExpiringLruCache<Scope, StoredResponse> recentKeys;
+
+    public OrderIdempotencyService(OrderIngestionService orderIngestionService,
+                                   IdempotencyRecordRepository idempotencyRecordRepository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${idempotency.cache.max-entries:10000}") int maxEntries,
+                                   @Value("${idempotency.cache.ttl:24h}") Duration ttl) {
+        this.orderIngestionService = orderIngestionService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recentKeys = new ExpiringLruCache<>(maxEntries, ttl);
+    }
+
+    public Result createOrder(String idempotencyKey, CreateOrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Scope scope = new Scope(currentUserId(), idempotencyKey);
+        String requestHash = hash(request);
+
+        Optional<StoredResponse> recent = recentKeys.get(scope);
+        if (recent.isPresent()) {
+            return replay(scope, recent.get(), requestHash);
+        }
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository
+                .findByUserIdAndIdempotencyKey(scope.userId(), scope.key());
+        if (stored.isPresent() && !isExpired(stored.get())) {
+            return replay(scope, remember(scope, stored.get()), requestHash);
+        }
+
+        try {
+            OrderResponse response = orderIngestionService.createOrder(request, created -> {
+                // Not yet purged; a bulk delete runs now, ahead of the insert that reuses its key
+                stored.ifPresent(expired -> idempotencyRecordRepository.deleteAllByIdInBatch(List.of(expired.getId())));
+                idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .userId(scope.userId())
+                        .idempotencyKey(scope.key())
+                        .requestHash(requestHash)
+                        .orderId(created.getId())
+                        .response(toJson(created))
+                        .build());
+            });
+            recentKeys.put(scope, new StoredResponse(requestHash, response));
+            return new Result(response, false);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry with the same key committed first; our order was rolled back with the key row
+            IdempotencyRecord winner = idempotencyRecordRepository
+                    .findByUserIdAndIdempotencyKey(scope.userId(), scope.key())
+                    .orElseThrow(() -> e);
+            return replay(scope, remember(scope, winner), requestHash);
+        }
+    }
+
+    /**
+     * Deletes the keys older than the ttl, which lookups already ignore.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}", initialDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt().isBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private Result replay(Scope scope, StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + scope.key() + " was already used for a different order");
+        }
+        log.info("Replaying order {} for Idempotency-Key {}", stored.response().getId(), scope.key());
+        return new Result(stored.response(), true);
+    }
+
+    private StoredResponse remember(Scope scope, IdempotencyRecord record) {
+        try {
+            StoredResponse stored = new StoredResponse(record.getRequestHash(),
+                    objectMapper.readValue(record.getResponse(), OrderResponse.class));
+            // Held in memory only for what is left of the key's ttl, counted from when it was stored
+            Duration remaining = Duration.between(LocalDateTime.now(), record.getCreatedAt().plus(ttl));
+            if (remaining.isPositive()) {
+                recentKeys.put(scope, stored, remaining);
+            }
+            return stored;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for order " + record.getOrderId() + " is unreadable", e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + response.getId(), e);
+        }
+    }
+
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint order request", e);
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        throw new AccessDeniedException("Idempotency-Key requires an authenticated user");
+    }
+
+    public record Result(OrderResponse response, boolean replayed) {
+    }
+
+    private record Scope(Long userId, String key) {
+    }
+
+    private record StoredResponse(String requestHash, OrderResponse response) {
+    }
+}
@@ -0,0 +1,385 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.config.OrderIngestionProperties;
+import com.qrcode.orderinglocator.dto.order.BatchCreateOrderResponse;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.exception.OrderIngestionBusyException;
+import com.qrcode.orderinglocator.exception.OrderWriteInProgressException;
+import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
+import com.qrcode.orderinglocator.repository.OrderIdAllocator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Entry point for new orders. With {@code orders.ingestion.group-commit} enabled, callers validate and price
+ * their order, hand it to a bounded queue and wait while a single writer persists queued orders in shared
+ * transactions of up to {@code max-batch-size}, lingering at most {@code max-linger} for a batch to fill.
+ * A caller that gives up after {@code write-timeout} is told to retry only if its order never reached the writer.
+ * Otherwise each order is written in its own transaction by {@link OrderService#createOrder}.
+ * <p>
+ * With {@code orders.ingestion.async-accept} enabled, {@link #acceptOrder} goes one step further: the order gets
+ * its id up front and is acknowledged as soon as it is queued, and {@link AcceptedOrderRegistry} answers for it
+ * until the writer has committed it.
+ * <p>
+ * Publishes {@code orders.ingestion.batch.size} and {@code orders.ingestion.queue.size}.
+ */
+@Service
+@Slf4j
+public class OrderIngestionService implements SmartLifecycle {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderService orderService;
+    private final OrderIdAllocator orderIdAllocator;
+    private final AcceptedOrderRegistry acceptedOrderRegistry;
+    private final OrderIngestionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingOrder> queue;
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionService(OrderService orderService,
+                                 OrderIdAllocator orderIdAllocator,
+                                 AcceptedOrderRegistry acceptedOrderRegistry,
+                                 OrderIngestionProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderIdAllocator = orderIdAllocator;
+        this.acceptedOrderRegistry = acceptedOrderRegistry;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSizes = DistributionSummary.builder("orders.ingestion.batch.size")
+                .description("Orders written per group-commit transaction")
+                .register(meterRegistry);
+        Gauge.builder("orders.ingestion.queue.size", queue, Collection::size)
+                .description("Orders waiting for the group-commit writer")
+                .register(meterRegistry);
+    }
+
+    public OrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(request, null);
+    }
+
+    /**
+     * Like {@link #createOrder(CreateOrderRequest)}, running {@code alongside} with the new order in the transaction
+     * that inserts it, so a row that must commit or roll back with the order is written in that transaction too.
+     * If {@code alongside} throws, the order is not created and the caller gets the exception.
+     */
+    public OrderResponse createOrder(CreateOrderRequest request, Consumer<OrderResponse> alongside) {
+        if (!running || !properties.isGroupCommit()) {
+            if (alongside == null) {
+                return orderService.createOrder(request);
+            }
+            return transactionTemplate.execute(status -> {
+                OrderResponse created = orderService.createOrder(request);
+                alongside.accept(created);
+                return created;
+            });
+        }
+
+        // Validation errors surface to this caller before the order ever reaches the shared transaction.
+        // The id is reserved up front so a caller that stops waiting can still be told which order to look for.
+        OrderService.PreparedOrder prepared = orderService.prepareOrder(request).withOrderId(orderIdAllocator.next());
+        PendingOrder pending = new PendingOrder(prepared, alongside, new CompletableFuture<>());
+        enqueue(pending);
+        if (!running && queue.remove(pending)) {
+            // The writer stopped after we checked; nobody else will pick this order up
+            write(List.of(pending));
+        }
+
+        try {
+            return pending.result().get(properties.getWriteTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                // Withdrawn before the writer saw it, so a retry cannot duplicate it
+                throw new OrderIngestionBusyException("The order was not written in time, please retry");
+            }
+            // Already with the writer, where it may yet commit: a blind retry could order twice
+            throw new OrderWriteInProgressException(prepared.orderId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderIngestionBusyException("Interrupted while waiting for the order to be written");
+        }
+    }
+
+    /**
+     * Creates several orders submitted together: customers and products are resolved once for the whole batch and
+     * every valid order is inserted in one transaction. Each order gets its own result, in submission order.
+     */
+    public BatchCreateOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        BatchCreateOrderResponse.OrderResult[] results = new BatchCreateOrderResponse.OrderResult[requests.size()];
+        List<Integer> slots = new ArrayList<>(requests.size());
+        List<OrderService.PreparedOrder> prepared = new ArrayList<>(requests.size());
+
+        List<OrderService.Preparation> preparations = orderService.prepareOrders(requests);
+        for (int i = 0; i < preparations.size(); i++) {
+            OrderService.Preparation preparation = preparations.get(i);
+            if (preparation.error() != null) {
+                results[i] = failed(i, preparation.error());
+            } else {
+                slots.add(i);
+                prepared.add(preparation.order());
+            }
+        }
+
+        if (!prepared.isEmpty()) {
+            try {
+                List<OrderResponse> responses = orderService.persistOrders(prepared);
+                for (int j = 0; j < slots.size(); j++) {
+                    results[slots.get(j)] = created(slots.get(j), responses.get(j));
+                }
+            } catch (RuntimeException e) {
+                // Same fallback as the group-commit writer: one transaction per order
+                log.warn("Batch insert of {} orders failed, writing them one at a time: {}", prepared.size(), e.getMessage());
+                for (int j = 0; j < slots.size(); j++) {
+                    int slot = slots.get(j);
+                    try {
+                        results[slot] = created(slot, orderService.persistOrders(List.of(prepared.get(j))).get(0));
+                    } catch (RuntimeException ex) {
+                        results[slot] = failed(slot, ex);
+                    }
+                }
+            }
+        }
+
+        int createdCount = (int) Arrays.stream(results).filter(result -> result.getOrder() != null).count();
+        return BatchCreateOrderResponse.builder()
+                .created(createdCount)
+                .failed(results.length - createdCount)
+                .results(List.of(results))
+                .build();
+    }
+
+    public boolean acceptsAsync() {
+        return running && properties.isAsyncAccept();
+    }
+
+    /**
+     * Validates the order against the cached catalog, reserves its id and queues it without waiting for the insert.
+     * The returned order is ACCEPTED; {@link OrderService#getOrderById} reports PERSISTED once it is durable.
+     */
+    public OrderResponse acceptOrder(CreateOrderRequest request) {
+        if (!acceptsAsync()) {
+            return orderService.createOrder(request);
+        }
+
+        OrderService.PreparedOrder prepared = orderService.prepareOrder(request).withOrderId(orderIdAllocator.next());
+        OrderResponse accepted = orderService.describeAccepted(prepared);
+        PendingOrder pending = new PendingOrder(prepared, null, new CompletableFuture<>());
+        pending.result().whenComplete((persisted, failure) -> {
+            if (failure == null) {
+                acceptedOrderRegistry.persisted(prepared.orderId());
+            } else {
+                log.error("Accepted order {} could not be written: {}", prepared.orderId(), failure.getMessage());
+                acceptedOrderRegistry.failed(prepared.orderId());
+            }
+        });
+
+        // Registered before queueing so the writer can never settle an order the registry has not seen
+        acceptedOrderRegistry.accepted(accepted);
+        try {
+            enqueue(pending);
+        } catch (OrderIngestionBusyException e) {
+            acceptedOrderRegistry.discard(prepared.orderId());
+            throw e;
+        }
+        if (!running && queue.remove(pending)) {
+            write(List.of(pending));
+        }
+        return accepted;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!(properties.isGroupCommit() || properties.isAsyncAccept()) || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "order-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Order ingestion writer started (group commit: {}, async accept: {}): batches of up to {}, linger {} ms",
+                properties.isGroupCommit(), properties.isAsyncAccept(),
+                properties.getMaxBatchSize(), properties.getMaxLinger().toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(PendingOrder pending) {
+        try {
+            if (!queue.offer(pending, properties.getEnqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new OrderIngestionBusyException("Too many orders are waiting to be written, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderIngestionBusyException("Interrupted while queueing the order");
+        }
+    }
+
+    private void drain() {
+        List<PendingOrder> batch = new ArrayList<>(properties.getMaxBatchSize());
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingOrder first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                try {
+                    fill(batch);
+                    write(batch);
+                } catch (RuntimeException e) {
+                    // write() settles its callers; this covers anything before it and keeps the writer alive
+                    log.error("Group-commit writer failed: {}", e.getMessage(), e);
+                    fail(batch, e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (running) {
+                log.error("Order ingestion writer stopped unexpectedly, writing orders directly from now on");
+            }
+            // New callers now write their own order, and nobody is left waiting on one this writer will not write
+            running = false;
+            queue.drainTo(batch);
+            fail(batch, new OrderIngestionBusyException("The order writer stopped before writing this order, please retry"));
+        }
+    }
+
+    private void fill(List<PendingOrder> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxLinger().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getMaxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        try {
+            persist(batch);
+        } catch (Throwable e) {
+            // An Error such as OutOfMemoryError: the writer stops, but its callers must still hear back
+            fail(batch, e);
+            throw e;
+        }
+    }
+
+    private void persist(List<PendingOrder> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<OrderResponse> responses = transactionTemplate.execute(status -> {
+                List<OrderResponse> written = orderService.persistOrders(batch.stream().map(PendingOrder::order).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (batch.get(i).alongside() != null) {
+                        batch.get(i).alongside().accept(written.get(i));
+                    }
+                }
+                return written;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One bad order must not fail the others: retry each in its own transaction
+            log.warn("Group commit of {} orders failed, writing them one at a time: {}", batch.size(), e.getMessage());
+            for (PendingOrder pending : batch) {
+                persist(List.of(pending));
+            }
+        }
+    }
+
+    private static void fail(List<PendingOrder> batch, Throwable failure) {
+        // A no-op for orders already settled
+        for (PendingOrder pending : batch) {
+            pending.result().completeExceptionally(failure);
+        }
+    }
+
+    private static BatchCreateOrderResponse.OrderResult created(int index, OrderResponse order) {
+        return BatchCreateOrderResponse.OrderResult.builder()
+                .index(index)
+                .status(HttpStatus.CREATED.value())
+                .order(order)
+                .build();
+    }
+
+    private static BatchCreateOrderResponse.OrderResult failed(int index, RuntimeException error) {
+        if (error instanceof ResourceNotFoundException) {
+            return BatchCreateOrderResponse.OrderResult.builder()
+                    .index(index)
+                    .status(HttpStatus.NOT_FOUND.value())
+                    .error(error.getMessage())
+                    .build();
+        }
+        log.error("Order {} of batch failed: {}", index, error.getMessage(), error);
+        return BatchCreateOrderResponse.OrderResult.builder()
+                .index(index)
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .error("An unexpected error occurred")
+                .build();
+    }
+
+    private record PendingOrder(OrderService.PreparedOrder order,
+                                Consumer<OrderResponse> alongside,
+                                CompletableFuture<OrderResponse> result) {
+    }
+}
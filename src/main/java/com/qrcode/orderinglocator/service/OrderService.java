@@ -1,25 +1,52 @@
 package com.qrcode.orderinglocator.service;
 
+import com.qrcode.orderinglocator.cache.PriceCatalog;
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.cache.TableEntry;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusRequest;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusResponse;
 import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderCursorPage;
+import com.qrcode.orderinglocator.dto.order.OrderItemRow;
 import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.dto.order.OrderRow;
 import com.qrcode.orderinglocator.dto.order.UpdateOrderStatusRequest;
 import com.qrcode.orderinglocator.entity.*;
+import com.qrcode.orderinglocator.event.OrderCreatedEvent;
+import com.qrcode.orderinglocator.event.OrderStatusChangedEvent;
 import com.qrcode.orderinglocator.exception.InvalidOrderStatusTransitionException;
+import com.qrcode.orderinglocator.exception.OrderStatusConflictException;
 import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
 import com.qrcode.orderinglocator.repository.*;
 import com.qrcode.orderinglocator.security.CustomUserDetails;
+import com.qrcode.orderinglocator.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,14 +54,30 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.IN_PREPARATION, Order.OrderStatus.READY);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final RestaurantTableRepository tableRepository;
     private final OrderStatusChangeRepository orderStatusChangeRepository;
+    private final TableDirectory tableDirectory;
+    private final PriceCatalog priceCatalog;
+    private final AcceptedOrderRegistry acceptedOrderRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        return persistOrders(List.of(prepareOrder(request))).get(0);
+    }
+
+    /**
+     * Validates the request and prices it against the catalog without writing anything,
+     * so callers can decide which transaction the order is persisted in.
+     */
+    PreparedOrder prepareOrder(CreateOrderRequest request) {
         log.info("Creating new order with {} items", request.getItems().size());
         
         // Validate and get user if provided
@@ -44,129 +87,423 @@ public class OrderService {
                     .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + request.getCustomerId()));
         }
 
-        // Validate and get table if provided
-        RestaurantTable table = null;
-        if (request.getTableId() != null) {
-            table = tableRepository.findById(request.getTableId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + request.getTableId()));
+        // Resolve all products in one pass against the price catalog
+        return priceOrder(request, customer, priceCatalog.resolve(productIdsOf(List.of(request))));
+    }
+
+    /**
+     * Prepares several orders with one customer query and one catalog pass between them.
+     * An order that fails validation is reported in its slot without affecting the others.
+     */
+    List<Preparation> prepareOrders(List<CreateOrderRequest> requests) {
+        log.info("Preparing {} orders", requests.size());
+
+        Set<Long> customerIds = requests.stream()
+                .map(CreateOrderRequest::getCustomerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> customers = customerIds.isEmpty() ? Map.of() : userRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, PriceCatalog.ProductPrice> prices = priceCatalog.resolve(productIdsOf(requests));
+
+        List<Preparation> preparations = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            try {
+                User customer = null;
+                if (request.getCustomerId() != null) {
+                    customer = customers.get(request.getCustomerId());
+                    if (customer == null) {
+                        throw new ResourceNotFoundException("Customer not found with ID: " + request.getCustomerId());
+                    }
+                }
+                preparations.add(new Preparation(priceOrder(request, customer, prices), null));
+            } catch (ResourceNotFoundException e) {
+                preparations.add(new Preparation(null, e));
+            }
         }
+        return preparations;
+    }
 
-        // Create order
-        Order order = Order.builder()
-                .customer(customer)
-                .table(table)
-                .status(Order.OrderStatus.PENDING)
-                .totalPrice(BigDecimal.ZERO) // Will be calculated below
-                .build();
+    private PreparedOrder priceOrder(CreateOrderRequest request, User customer, Map<Long, PriceCatalog.ProductPrice> prices) {
+        // Validate table if provided
+        Long tableId = null;
+        if (request.getTableId() != null) {
+            tableId = tableDirectory.findById(request.getTableId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + request.getTableId()))
+                    .id();
+        }
 
-        // Create order items and calculate total
-        BigDecimal totalPrice = BigDecimal.ZERO;
+        // Price order lines and calculate total
+        List<PreparedOrder.Line> lines = new ArrayList<>(request.getItems().size());
+        long totalMinorUnits = 0; // a plain long, so the loop allocates nothing per line
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + itemRequest.getProductId()));
-
-            OrderItem orderItem = OrderItem.builder()
-                    .order(order)
-                    .product(product)
-                    .quantity(itemRequest.getQuantity())
-                    .price(product.getPrice()) // Snapshot current price
-                    .build();
+            PriceCatalog.ProductPrice productPrice = prices.get(itemRequest.getProductId());
+            if (productPrice == null) {
+                throw new ResourceNotFoundException("Product not found with ID: " + itemRequest.getProductId());
+            }
 
-            BigDecimal itemTotal = product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
-            totalPrice = totalPrice.add(itemTotal);
+            totalMinorUnits = Math.addExact(totalMinorUnits,
+                    Math.multiplyExact(productPrice.price().minorUnits(), (long) itemRequest.getQuantity()));
+            lines.add(new PreparedOrder.Line(productPrice.id(), productPrice.name(), itemRequest.getQuantity(), productPrice.price()));
+        }
 
-            if (order.getOrderItems() == null) {
-                order.setOrderItems(List.of(orderItem));
-            } else {
-                order.getOrderItems().add(orderItem);
+        return new PreparedOrder(null, customer, tableId, lines, Money.ofMinor(totalMinorUnits));
+    }
+
+    private static List<Long> productIdsOf(List<CreateOrderRequest> requests) {
+        return requests.stream()
+                .flatMap(request -> request.getItems().stream())
+                .map(CreateOrderRequest.OrderItemRequest::getProductId)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Inserts the prepared orders with their items and initial status change in one transaction.
+     */
+    @Transactional
+    List<OrderResponse> persistOrders(List<PreparedOrder> preparedOrders) {
+        List<Order> savedOrders = new ArrayList<>(preparedOrders.size());
+        for (PreparedOrder prepared : preparedOrders) {
+            Order order = Order.builder()
+                    .preallocatedId(prepared.orderId())
+                    .customer(prepared.customer())
+                    .table(prepared.tableId() != null ? tableRepository.getReferenceById(prepared.tableId()) : null)
+                    .status(Order.OrderStatus.PENDING)
+                    .totalPrice(prepared.totalPrice().toBigDecimal())
+                    .build();
+
+            List<OrderItem> orderItems = new ArrayList<>(prepared.lines().size());
+            for (PreparedOrder.Line line : prepared.lines()) {
+                orderItems.add(OrderItem.builder()
+                        .order(order)
+                        .product(productRepository.getReferenceById(line.productId()))
+                        .quantity(line.quantity())
+                        .price(line.price().toBigDecimal()) // Snapshot current price
+                        .build());
             }
-        }
+            order.setOrderItems(orderItems);
+            Order savedOrder = orderRepository.save(order);
 
-        order.setTotalPrice(totalPrice);
-        Order savedOrder = orderRepository.save(order);
+            // Record initial status change
+            OrderStatusChange statusChange = OrderStatusChange.builder()
+                    .order(savedOrder)
+                    .status(Order.OrderStatus.PENDING)
+                    .build();
+            orderStatusChangeRepository.save(statusChange);
+            savedOrders.add(savedOrder);
+        }
 
-        // Record initial status change
-        OrderStatusChange statusChange = OrderStatusChange.builder()
-                .order(savedOrder)
-                .status(Order.OrderStatus.PENDING)
-                .build();
-        orderStatusChangeRepository.save(statusChange);
+        // Sequence ids defer the inserts to flush; flushing here sends them as batches and fills in the timestamps
+        orderRepository.flush();
 
-        log.info("Order created successfully with ID: {} and total price: {}", savedOrder.getId(), totalPrice);
-        
-        return mapOrderToResponse(savedOrder);
+        List<OrderResponse> responses = new ArrayList<>(savedOrders.size());
+        for (Order savedOrder : savedOrders) {
+            log.info("Order created successfully with ID: {} and total price: {}", savedOrder.getId(), savedOrder.getTotalPrice());
+            OrderResponse response = mapOrderToResponse(savedOrder);
+            eventPublisher.publishEvent(new OrderCreatedEvent(response));
+            responses.add(response);
+        }
+        return responses;
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
         log.info("Fetching order with ID: {}", orderId);
+
+        // Orders acknowledged asynchronously are answered from memory until their row is durable
+        Optional<OrderResponse> inFlight = acceptedOrderRegistry.find(orderId);
+        if (inFlight.isPresent()) {
+            checkCanView(inFlight.get().getCustomerId());
+            return inFlight.get();
+        }
         
-        Order order = orderRepository.findByIdWithDetails(orderId)
+        OrderRow order = orderRepository.findRowById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
-        // Check if user has permission to view this order
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails) {
-            CustomUserDetails userDetails = (CustomUserDetails) auth.getPrincipal();
-            
-            // Customers can only view their own orders
-            if (userDetails.getRole() == User.Role.CUSTOMER) {
-                if (order.getCustomer() == null || !order.getCustomer().getId().equals(userDetails.getId())) {
-                    throw new AccessDeniedException("You can only view your own orders");
-                }
-            }
-            // Cashiers and Admins can view all orders
-        }
+        checkCanView(order.customerId());
 
-        return mapOrderToResponse(order);
+        return order.toResponse(orderRepository.findItemRowsByOrderId(orderId).stream()
+                .map(OrderItemRow::toResponse)
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Describes a prepared order that has been acknowledged but not written yet.
+     */
+    OrderResponse describeAccepted(PreparedOrder prepared) {
+        List<OrderResponse.OrderItemResponse> itemResponses = prepared.lines().stream()
+                .map(line -> OrderResponse.OrderItemResponse.builder()
+                        .productId(line.productId())
+                        .productName(line.productName())
+                        .quantity(line.quantity())
+                        .price(line.price().toBigDecimal())
+                        .build())
+                .collect(Collectors.toList());
+
+        return OrderResponse.builder()
+                .id(prepared.orderId())
+                .customerId(prepared.customer() != null ? prepared.customer().getId() : null)
+                .customerName(prepared.customer() != null ? prepared.customer().getName() : null)
+                .tableId(prepared.tableId())
+                .tableNumber(prepared.tableId() != null
+                        ? tableDirectory.findById(prepared.tableId()).map(TableEntry::number).orElse(null) : null)
+                .totalPrice(prepared.totalPrice().toBigDecimal())
+                .status(Order.OrderStatus.PENDING)
+                .items(itemResponses)
+                .persistenceState(OrderResponse.PersistenceState.ACCEPTED)
+                .build();
+    }
+
+    /**
+     * Pages over order ids first and then reads items, products, customers and tables for that page only,
+     * so a page costs the same however many orders match.
+     */
     @Transactional(readOnly = true)
     public Page<OrderResponse> getOrders(Long tableId, Order.OrderStatus status, Pageable pageable) {
         log.info("Fetching orders with filters - tableId: {}, status: {}", tableId, status);
         
-        Page<Order> orders = orderRepository.findOrdersWithFilters(tableId, status, pageable);
-        return orders.map(this::mapOrderToResponse);
+        Page<Long> orderIds = orderRepository.findOrderIdsWithFilters(tableId, status, pageable);
+        Map<Long, OrderResponse> orders = loadResponses(orderIds.getContent());
+        return orderIds.map(orders::get);
+    }
+
+    /**
+     * Keyset-paged listing: each page continues below the last order of the previous one, so deep pages cost the
+     * same as the first and orders arriving in between neither shift nor repeat rows. An empty cursor starts
+     * from the newest order.
+     */
+    @Transactional(readOnly = true)
+    public OrderCursorPage getOrdersBefore(Long tableId, Order.OrderStatus status, String cursor, int size) {
+        log.info("Fetching orders by cursor - tableId: {}, status: {}", tableId, status);
+
+        Pageable limit = PageRequest.ofSize(Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE));
+        Slice<Long> orderIds;
+        if (cursor == null || cursor.isEmpty()) {
+            orderIds = orderRepository.findOrderIdSliceWithFilters(tableId, status, limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orderIds = orderRepository.findOrderIdSliceBefore(tableId, status, position.createdAt(), position.id(), limit);
+        }
+
+        Map<Long, OrderResponse> orders = loadResponses(orderIds.getContent());
+        List<OrderResponse> content = orderIds.map(orders::get).getContent();
+        OrderResponse last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return OrderCursorPage.builder()
+                .content(content)
+                .size(limit.getPageSize())
+                .nextCursor(orderIds.hasNext() ? new OrderCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
     }
 
+    /**
+     * Builds responses from two flat projections, one row per order and one per line, instead of hydrating
+     * orders, items, products, customers and tables as managed entities only to copy a few fields out.
+     */
+    private Map<Long, OrderResponse> loadResponses(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<OrderResponse.OrderItemResponse>> items = new HashMap<>();
+        for (OrderItemRow item : orderRepository.findItemRowsByOrderIdIn(orderIds)) {
+            items.computeIfAbsent(item.orderId(), id -> new ArrayList<>()).add(item.toResponse());
+        }
+        Map<Long, OrderResponse> orders = new HashMap<>();
+        for (OrderRow order : orderRepository.findRowsByIdIn(orderIds)) {
+            orders.put(order.id(), order.toResponse(items.getOrDefault(order.id(), List.of())));
+        }
+        return orders;
+    }
+
+    /**
+     * Every order not delivered yet, oldest first; the starting point of the live order board.
+     */
+    @Transactional(readOnly = true)
+    List<OrderResponse> getActiveOrders() {
+        return orderRepository.findByStatusInWithDetails(ACTIVE_STATUSES).stream()
+                .map(this::mapOrderToResponse)
+                .toList();
+    }
+
+    /**
+     * Looks an order up without the caller checks of {@link #getOrderById}, for internal views.
+     */
+    @Transactional(readOnly = true)
+    Optional<OrderResponse> findOrder(Long orderId) {
+        return orderRepository.findByIdWithDetails(orderId).map(this::mapOrderToResponse);
+    }
+
+    /**
+     * Applies the transition with one conditional UPDATE, so two cashiers moving the same order cannot both win.
+     * The current status is only read when the UPDATE matched nothing, to explain why.
+     */
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
         log.info("Updating order {} status to {}", orderId, request.getStatus());
-        
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
-        // Validate status transition
-        validateStatusTransition(order.getStatus(), request.getStatus());
+        Order.OrderStatus next = request.getStatus();
+        Order.OrderStatus expected = previousStatus(next);
+        int updated = expected != null
+                ? orderRepository.transitionStatus(orderId, expected, next, LocalDateTime.now())
+                : 0;
+        if (updated == 0) {
+            throw rejectedTransition(orderId, next);
+        }
 
-        order.setStatus(request.getStatus());
-        Order savedOrder = orderRepository.save(order);
+        Order order = orderRepository.findByIdWithDetails(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
         // Record status change
         OrderStatusChange statusChange = OrderStatusChange.builder()
-                .order(savedOrder)
-                .status(request.getStatus())
+                .order(order)
+                .status(next)
                 .build();
         orderStatusChangeRepository.save(statusChange);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, next, order.getUpdatedAt()));
 
         log.info("Order status updated successfully for order ID: {}", orderId);
-        
-        return mapOrderToResponse(savedOrder);
+
+        return mapOrderToResponse(order);
     }
 
-    private void validateStatusTransition(Order.OrderStatus currentStatus, Order.OrderStatus newStatus) {
-        // Define allowed transitions: pending -> in_preparation -> ready -> delivered
-        boolean isValidTransition = switch (currentStatus) {
-            case PENDING -> newStatus == Order.OrderStatus.IN_PREPARATION;
-            case IN_PREPARATION -> newStatus == Order.OrderStatus.READY;
-            case READY -> newStatus == Order.OrderStatus.DELIVERED;
-            case DELIVERED -> false; // No transitions allowed from delivered
+    private static Order.OrderStatus previousStatus(Order.OrderStatus status) {
+        // Allowed transitions: pending -> in_preparation -> ready -> delivered
+        return switch (status) {
+            case PENDING -> null; // Nothing moves back to pending
+            case IN_PREPARATION -> Order.OrderStatus.PENDING;
+            case READY -> Order.OrderStatus.IN_PREPARATION;
+            case DELIVERED -> Order.OrderStatus.READY;
         };
+    }
 
-        if (!isValidTransition) {
-            throw new InvalidOrderStatusTransitionException(
-                    String.format("Invalid status transition from %s to %s", currentStatus, newStatus));
+    private RuntimeException rejectedTransition(Long orderId, Order.OrderStatus next) {
+        Order.OrderStatus current = orderRepository.findStatusById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+        return rejectionOf(orderId, current, next);
+    }
+
+    private static RuntimeException rejectionOf(Long orderId, Order.OrderStatus current, Order.OrderStatus next) {
+        if (previousStatus(next) != null && current.compareTo(next) >= 0) {
+            // A valid transition that someone else has already made
+            return new OrderStatusConflictException(
+                    String.format("Order %d is already %s and cannot be moved to %s", orderId, current, next));
         }
+        return new InvalidOrderStatusTransitionException(
+                String.format("Invalid status transition from %s to %s", current, next));
+    }
+
+    /**
+     * Applies several transitions at once, e.g. the expo marking a run of tickets READY. The orders are locked and
+     * checked in memory, then moved with one conditional UPDATE per target status, and their status changes are
+     * inserted as one batch. Each transition reports its own outcome, in submission order.
+     */
+    @Transactional
+    public BulkUpdateOrderStatusResponse updateOrderStatuses(List<BulkUpdateOrderStatusRequest.Transition> transitions) {
+        Set<Long> orderIds = transitions.stream()
+                .map(BulkUpdateOrderStatusRequest.Transition::getOrderId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Order.OrderStatus> currentStatuses = orderRepository.findAllByIdForUpdate(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Order::getStatus));
+
+        BulkUpdateOrderStatusResponse.TransitionResult[] results =
+                new BulkUpdateOrderStatusResponse.TransitionResult[transitions.size()];
+        Map<Order.OrderStatus, List<Long>> moves = new EnumMap<>(Order.OrderStatus.class);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            Long orderId = transitions.get(i).getOrderId();
+            Order.OrderStatus next = transitions.get(i).getStatus();
+            Order.OrderStatus current = currentStatuses.get(orderId);
+
+            if (current == null) {
+                results[i] = rejected(i, orderId, null, new ResourceNotFoundException("Order not found with ID: " + orderId));
+            } else if (!seen.add(orderId)) {
+                results[i] = rejected(i, orderId, current, new InvalidOrderStatusTransitionException(
+                        "Order " + orderId + " is listed more than once"));
+            } else if (previousStatus(next) != current) {
+                results[i] = rejected(i, orderId, current, rejectionOf(orderId, current, next));
+            } else {
+                moves.computeIfAbsent(next, status -> new ArrayList<>()).add(orderId);
+                results[i] = BulkUpdateOrderStatusResponse.TransitionResult.builder()
+                        .index(i)
+                        .orderId(orderId)
+                        .status(HttpStatus.OK.value())
+                        .orderStatus(next)
+                        .build();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderStatusChange> statusChanges = new ArrayList<>();
+        for (Map.Entry<Order.OrderStatus, List<Long>> move : moves.entrySet()) {
+            int updated = orderRepository.transitionStatuses(move.getValue(), previousStatus(move.getKey()), move.getKey(), now);
+            if (updated != move.getValue().size()) {
+                // The rows are locked, so nothing else can have moved them since they were read
+                throw new IllegalStateException("Expected to move " + move.getValue().size() + " orders to "
+                        + move.getKey() + " but moved " + updated);
+            }
+            for (Long orderId : move.getValue()) {
+                statusChanges.add(OrderStatusChange.builder()
+                        .order(orderRepository.getReferenceById(orderId))
+                        .status(move.getKey())
+                        .build());
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, move.getKey(), now));
+            }
+        }
+        orderStatusChangeRepository.saveAll(statusChanges);
+
+        log.info("Bulk status update moved {} of {} orders", statusChanges.size(), transitions.size());
+        return BulkUpdateOrderStatusResponse.builder()
+                .updated(statusChanges.size())
+                .failed(transitions.size() - statusChanges.size())
+                .results(List.of(results))
+                .build();
+    }
+
+    private static BulkUpdateOrderStatusResponse.TransitionResult rejected(int index, Long orderId,
+                                                                          Order.OrderStatus current,
+                                                                          RuntimeException rejection) {
+        HttpStatus status = switch (rejection) {
+            case ResourceNotFoundException e -> HttpStatus.NOT_FOUND;
+            case OrderStatusConflictException e -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        return BulkUpdateOrderStatusResponse.TransitionResult.builder()
+                .index(index)
+                .orderId(orderId)
+                .status(status.value())
+                .orderStatus(current)
+                .error(rejection.getMessage())
+                .build();
+    }
+
+    private void checkCanView(Long orderCustomerId) {
+        // Check if user has permission to view this order
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails) {
+            CustomUserDetails userDetails = (CustomUserDetails) auth.getPrincipal();
+            
+            // Customers can only view their own orders
+            if (userDetails.getRole() == User.Role.CUSTOMER) {
+                if (orderCustomerId == null || !orderCustomerId.equals(userDetails.getId())) {
+                    throw new AccessDeniedException("You can only view your own orders");
+                }
+            }
+            // Cashiers and Admins can view all orders
+        }
+    }
+
+    private String productNameOf(Product product) {
+        // Same as tableNumberOf: the catalog answers without initializing a lazy product proxy
+        return priceCatalog.find(product.getId())
+                .map(PriceCatalog.ProductPrice::name)
+                .orElseGet(product::getName);
+    }
+
+    private Integer tableNumberOf(RestaurantTable table) {
+        // Reading the number from the directory avoids initializing a lazy table proxy
+        return tableDirectory.findById(table.getId())
+                .map(TableEntry::number)
+                .orElseGet(table::getNumber);
     }
 
     private OrderResponse mapOrderToResponse(Order order) {
@@ -174,7 +511,7 @@ public class OrderService {
                 .map(item -> OrderResponse.OrderItemResponse.builder()
                         .id(item.getId())
                         .productId(item.getProduct().getId())
-                        .productName(item.getProduct().getName())
+                        .productName(productNameOf(item.getProduct()))
                         .quantity(item.getQuantity())
                         .price(item.getPrice())
                         .build())
@@ -185,12 +522,32 @@ public class OrderService {
                 .customerId(order.getCustomer() != null ? order.getCustomer().getId() : null)
                 .customerName(order.getCustomer() != null ? order.getCustomer().getName() : null)
                 .tableId(order.getTable() != null ? order.getTable().getId() : null)
-                .tableNumber(order.getTable() != null ? order.getTable().getNumber() : null)
+                .tableNumber(order.getTable() != null ? tableNumberOf(order.getTable()) : null)
                 .totalPrice(order.getTotalPrice())
                 .status(order.getStatus())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .items(itemResponses)
+                .persistenceState(OrderResponse.PersistenceState.PERSISTED)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * An order that passed validation and was priced, ready to be inserted.
+     */
+    record PreparedOrder(Long orderId, User customer, Long tableId, List<Line> lines, Money totalPrice) {
+
+        PreparedOrder withOrderId(Long id) {
+            return new PreparedOrder(id, customer, tableId, lines, totalPrice);
+        }
+
+        record Line(Long productId, String productName, Integer quantity, Money price) {
+        }
+    }
+
+    /**
+     * Either a prepared order or the reason it was rejected.
+     */
+    record Preparation(PreparedOrder order, RuntimeException error) {
+    }
+}
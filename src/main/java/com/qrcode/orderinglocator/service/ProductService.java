@@ -0,0 +1,44 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.cache.ProductSearchIndex;
+import com.qrcode.orderinglocator.dto.product.ProductSearchResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductService {
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    public ProductSearchResponse searchProducts(String query, int limit) {
+        log.debug("Searching products for: {}", query);
+
+        int resultLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<ProductSearchResponse.ProductResult> results = productSearchIndex.search(query, resultLimit).stream()
+                .map(hit -> mapToResult(hit.product()))
+                .toList();
+
+        return ProductSearchResponse.builder()
+                .query(query)
+                .results(results)
+                .build();
+    }
+
+    private ProductSearchResponse.ProductResult mapToResult(ProductSearchIndex.IndexedProduct product) {
+        return ProductSearchResponse.ProductResult.builder()
+                .id(product.id())
+                .categoryId(product.categoryId())
+                .name(product.name())
+                .description(product.description())
+                .imageUrl(product.imageUrl())
+                .price(product.price())
+                .build();
+    }
+}
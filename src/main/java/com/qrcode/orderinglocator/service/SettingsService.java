@@ -0,0 +1,69 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.cache.RestaurantSettings;
+import com.qrcode.orderinglocator.cache.RestaurantSettingsProvider;
+import com.qrcode.orderinglocator.dto.settings.SettingsResponse;
+import com.qrcode.orderinglocator.dto.settings.UpdateSettingsRequest;
+import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SettingsService {
+
+    private final SettingsRepository settingsRepository;
+    private final RestaurantSettingsProvider settingsProvider;
+
+    public SettingsResponse getSettings() {
+        return settingsProvider.get()
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant settings not found"));
+    }
+
+    @Transactional
+    public SettingsResponse updateSettings(UpdateSettingsRequest request) {
+        log.info("Updating restaurant settings");
+
+        Settings settings = settingsRepository.findFirstByOrderByIdAsc()
+                .orElseGet(Settings::new);
+
+        settings.setName(request.getName());
+        settings.setLogoUrl(request.getLogoUrl());
+        settings.setAddress(request.getAddress());
+        settings.setWorkingHours(request.getWorkingHours());
+        settings.setAboutImageUrl(request.getAboutImageUrl());
+        settings.setAboutDescription(request.getAboutDescription());
+        settings.setTermsAndConditions(request.getTermsAndConditions());
+        settings.setFacebookUrl(request.getFacebookUrl());
+        settings.setWhatsappNumber(request.getWhatsappNumber());
+        settings.setPhoneNumber(request.getPhoneNumber());
+        settings.setSecondPhoneNumber(request.getSecondPhoneNumber());
+
+        // The provider reloads from the committed row once this transaction completes
+        Settings savedSettings = settingsRepository.save(settings);
+        return mapToResponse(RestaurantSettings.from(savedSettings));
+    }
+
+    private SettingsResponse mapToResponse(RestaurantSettings settings) {
+        return SettingsResponse.builder()
+                .id(settings.id())
+                .name(settings.name())
+                .logoUrl(settings.logoUrl())
+                .address(settings.address())
+                .workingHours(settings.workingHours())
+                .aboutImageUrl(settings.aboutImageUrl())
+                .aboutDescription(settings.aboutDescription())
+                .termsAndConditions(settings.termsAndConditions())
+                .facebookUrl(settings.facebookUrl())
+                .whatsappNumber(settings.whatsappNumber())
+                .phoneNumber(settings.phoneNumber())
+                .secondPhoneNumber(settings.secondPhoneNumber())
+                .build();
+    }
+}
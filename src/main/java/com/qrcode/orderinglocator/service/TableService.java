@@ -0,0 +1,90 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.cache.TableEntry;
+import com.qrcode.orderinglocator.dto.table.TableRequest;
+import com.qrcode.orderinglocator.dto.table.TableResponse;
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
+import com.qrcode.orderinglocator.exception.TableNumberAlreadyExistsException;
+import com.qrcode.orderinglocator.repository.RestaurantTableRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TableService {
+
+    private final RestaurantTableRepository tableRepository;
+    private final TableDirectory tableDirectory;
+
+    public List<TableResponse> getTables() {
+        return tableDirectory.all().stream()
+                .sorted(Comparator.comparing(TableEntry::number))
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public TableResponse getTable(Long tableId) {
+        return tableDirectory.findById(tableId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + tableId));
+    }
+
+    @Transactional
+    public TableResponse createTable(TableRequest request) {
+        log.info("Creating table number {}", request.getNumber());
+
+        if (tableRepository.existsByNumber(request.getNumber())) {
+            throw new TableNumberAlreadyExistsException("Table number already exists: " + request.getNumber());
+        }
+
+        RestaurantTable table = RestaurantTable.builder()
+                .number(request.getNumber())
+                .qrCodeUrl(request.getQrCodeUrl())
+                .build();
+
+        return mapToResponse(TableEntry.from(tableRepository.save(table)));
+    }
+
+    @Transactional
+    public TableResponse updateTable(Long tableId, TableRequest request) {
+        log.info("Updating table {}", tableId);
+
+        RestaurantTable table = tableRepository.findById(tableId)
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + tableId));
+
+        if (!table.getNumber().equals(request.getNumber()) && tableRepository.existsByNumber(request.getNumber())) {
+            throw new TableNumberAlreadyExistsException("Table number already exists: " + request.getNumber());
+        }
+
+        table.setNumber(request.getNumber());
+        table.setQrCodeUrl(request.getQrCodeUrl());
+
+        return mapToResponse(TableEntry.from(tableRepository.save(table)));
+    }
+
+    @Transactional
+    public void deleteTable(Long tableId) {
+        log.info("Deleting table {}", tableId);
+
+        RestaurantTable table = tableRepository.findById(tableId)
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with ID: " + tableId));
+
+        tableRepository.delete(table);
+    }
+
+    private TableResponse mapToResponse(TableEntry table) {
+        return TableResponse.builder()
+                .id(table.id())
+                .number(table.number())
+                .qrCodeUrl(table.qrCodeUrl())
+                .build();
+    }
+}
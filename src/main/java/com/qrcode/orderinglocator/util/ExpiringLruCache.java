@@ -0,0 +1,70 @@
+package com.qrcode.orderinglocator.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded map that evicts the least recently used entry once full and treats entries older than
+ * the time-to-live as absent. Expired entries are dropped when they are next looked up or evicted.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringLruCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public ExpiringLruCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value) {
+        put(key, value, ttl);
+    }
+
+    /**
+     * Stores an entry that expires after {@code timeToLive} instead of the cache's ttl, for a value that is
+     * already part way through its life.
+     */
+    public synchronized void put(K key, V value, Duration timeToLive) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(timeToLive)));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
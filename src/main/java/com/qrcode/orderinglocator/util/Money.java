@@ -0,0 +1,46 @@
+package com.qrcode.orderinglocator.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount held as a whole number of minor units (cents). Pricing, the price catalog and order totals work on
+ * the long directly; {@link BigDecimal} with scale 2, matching the DECIMAL(10,2) columns, only appears at the
+ * persistence and JSON edges. Arithmetic throws {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    /** Exact conversion; amounts with more than two decimal places are rejected rather than rounded. */
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
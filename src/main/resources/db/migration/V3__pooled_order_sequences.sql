@@ -0,0 +1,21 @@
+-- V3__pooled_order_sequences.sql - Pooled sequence ids for the order tables so Hibernate can batch inserts
+
+-- Hibernate's pooled optimizer reserves ids (value - 49 .. value) per nextval, so each sequence
+-- starts 50 above the current maximum id
+ALTER TABLE orders ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE orders ALTER COLUMN id TYPE BIGINT;
+DROP SEQUENCE IF EXISTS orders_id_seq;
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orders), false);
+
+ALTER TABLE order_items ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE order_items ALTER COLUMN id TYPE BIGINT;
+DROP SEQUENCE IF EXISTS order_items_id_seq;
+CREATE SEQUENCE order_items_seq INCREMENT BY 50;
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items), false);
+
+ALTER TABLE order_status_changes ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE order_status_changes ALTER COLUMN id TYPE BIGINT;
+DROP SEQUENCE IF EXISTS order_status_changes_id_seq;
+CREATE SEQUENCE order_status_changes_seq INCREMENT BY 50;
+SELECT setval('order_status_changes_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_status_changes), false);
@@ -0,0 +1,3 @@
+-- V5__order_version.sql - Optimistic locking column for orders
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
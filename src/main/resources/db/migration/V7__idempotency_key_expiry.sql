@@ -0,0 +1,3 @@
+-- V7__idempotency_key_expiry.sql - Expired idempotency keys are purged by age
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,96 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.cache.MenuSnapshot;
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per menu serialization: the original per-request path (entities mapped to DTOs through
+ * builders, then Jackson) and Jackson over the cached snapshot.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MenuSerialization} and read gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuSerializationBenchmark {
+
+    @Param({"10"})
+    public int categoryCount;
+
+    @Param({"40"})
+    public int productsPerCategory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MenuResponse.TableInfo table = new MenuResponse.TableInfo(4L, 4);
+    private final MenuResponse.RestaurantInfo restaurant = MenuResponse.RestaurantInfo.builder()
+            .name("QR Code Restaurant")
+            .address("123 Main Street")
+            .workingHours("Mon-Sun: 10:00 AM - 10:00 PM")
+            .build();
+
+    private List<Category> categories;
+    private MenuSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        categories = new ArrayList<>();
+        for (long c = 1; c <= categoryCount; c++) {
+            Category category = Category.builder().id(c).name("Category " + c).products(new ArrayList<>()).build();
+            for (long p = 1; p <= productsPerCategory; p++) {
+                long id = c * 1000 + p;
+                category.getProducts().add(Product.builder()
+                        .id(id)
+                        .name("Product " + id)
+                        .description("A reasonably descriptive sentence about product " + id)
+                        .imageUrl("https://example.com/images/product-" + id + ".jpg")
+                        .price(BigDecimal.valueOf(id % 5000, 2))
+                        .category(category)
+                        .build());
+            }
+            categories.add(category);
+        }
+        snapshot = new MenuSnapshot(1L, 0L, restaurant, categories.stream().map(this::mapCategory).toList());
+    }
+
+    @Benchmark
+    public byte[] entitiesToDtoTreeWithObjectMapper() throws Exception {
+        MenuResponse response = MenuResponse.builder()
+                .table(MenuResponse.TableInfo.builder().id(table.getId()).number(table.getNumber()).build())
+                .restaurant(restaurant)
+                .categories(categories.stream().map(this::mapCategory).toList())
+                .build();
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] snapshotWithObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(snapshot.toResponse(table));
+    }
+
+    private MenuResponse.CategoryResponse mapCategory(Category category) {
+        return MenuResponse.CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .products(category.getProducts().stream()
+                        .map(product -> MenuResponse.ProductResponse.builder()
+                                .id(product.getId())
+                                .name(product.getName())
+                                .description(product.getDescription())
+                                .imageUrl(product.getImageUrl())
+                                .price(product.getPrice())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
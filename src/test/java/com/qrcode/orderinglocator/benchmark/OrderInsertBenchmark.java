@@ -0,0 +1,98 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import com.qrcode.orderinglocator.OrderingLocatorApplication;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC round-trips per createOrder on H2, counted by {@link RoundTripCounter}. IDENTITY maps the order
+ * tables back to their original identity columns with batching off; POOLED is the current mapping with
+ * pooled sequences and batched, ordered inserts.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderInsert}; round-trips per order is
+ * the roundTrips counter divided by the orders counter (14.0 vs 3.3 for a 12-line order).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({"IDENTITY", "POOLED"})
+    public String idGeneration;
+
+    @Param({"12"})
+    public int lineItems;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() {
+        // Passed as command-line arguments so they take precedence over application-test.yml
+        List<String> args = new ArrayList<>(List.of(
+                "--warmup.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.qrcode.orderinglocator=WARN",
+                "--spring.jpa.properties.hibernate.session.events.auto=" + RoundTripCounter.class.getName()));
+        if ("IDENTITY".equals(idGeneration)) {
+            args.add("--spring.jpa.mapping-resources=benchmark/orm-identity.xml");
+            args.add("--spring.jpa.properties.hibernate.jdbc.batch_size=0");
+            args.add("--spring.jpa.properties.hibernate.order_inserts=false");
+        }
+
+        context = new SpringApplicationBuilder(OrderingLocatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        orderService = context.getBean(OrderService.class);
+
+        request = new CreateOrderRequest();
+        request.setTableId(1L);
+        request.setItems(new ArrayList<>());
+        for (int i = 0; i < lineItems; i++) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setProductId((long) (i % 10) + 1);
+            item.setQuantity(1 + i % 3);
+            request.getItems().add(item);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+
+        public long orders;
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            orders = 0;
+            roundTrips = 0;
+        }
+    }
+
+    @Benchmark
+    public Object createOrder(RoundTrips counters) {
+        long before = RoundTripCounter.total();
+        Object response = orderService.createOrder(request);
+        counters.roundTrips += RoundTripCounter.total() - before;
+        counters.orders++;
+        return response;
+    }
+}
@@ -0,0 +1,146 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import com.qrcode.orderinglocator.OrderingLocatorApplication;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.repository.OrderRepository;
+import com.qrcode.orderinglocator.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Heap allocated per order read on H2: the entity path (fetch-join orders, items, products, customers and tables
+ * as managed entities, then copy them into responses) against the flat projections behind getOrderById and
+ * getOrders. Both run in a read-only transaction. A single order is read through findByIdWithDetails as before;
+ * the page's entity query runs on the EntityManager, so it leaves out Spring Data's per-call query parsing.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderRead} and read gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    private static final String FETCH_WITH_DETAILS = "SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi "
+            + "LEFT JOIN FETCH oi.product LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.table WHERE o.id IN :ids";
+
+    @Param({"200"})
+    public int orderCount;
+
+    @Param({"4"})
+    public int lineItems;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private Long orderId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderingLocatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--warmup.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.qrcode.orderinglocator=WARN");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        for (int i = 0; i < orderCount; i++) {
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setCustomerId(3L);
+            request.setTableId((long) (i % 10) + 1);
+            request.setItems(new ArrayList<>());
+            for (int j = 0; j < lineItems; j++) {
+                CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+                item.setProductId((long) ((i + j) % 10) + 1);
+                item.setQuantity(1 + j % 3);
+                request.getItems().add(item);
+            }
+            orderId = orderService.createOrder(request).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object orderByIdEntities() {
+        return readOnly.execute(status -> toResponse(orderRepository.findByIdWithDetails(orderId).orElseThrow()));
+    }
+
+    @Benchmark
+    public Object orderByIdProjection() {
+        return readOnly.execute(status -> orderService.getOrderById(orderId));
+    }
+
+    @Benchmark
+    public Object orderPageEntities() {
+        return readOnly.execute(status -> {
+            Page<Long> orderIds = orderRepository.findOrderIdsWithFilters(null, null, firstPage);
+            Map<Long, Order> orders = fetchWithDetails(orderIds.getContent()).stream()
+                    .collect(Collectors.toMap(Order::getId, Function.identity()));
+            return orderIds.map(id -> toResponse(orders.get(id)));
+        });
+    }
+
+    @Benchmark
+    public Object orderPageProjection() {
+        return readOnly.execute(status -> orderService.getOrders(null, null, firstPage));
+    }
+
+    private List<Order> fetchWithDetails(List<Long> ids) {
+        return entityManager.createQuery(FETCH_WITH_DETAILS, Order.class).setParameter("ids", ids).getResultList();
+    }
+
+    // The mapping getOrders and getOrderById used before the projections
+    private static OrderResponse toResponse(Order order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .customerId(order.getCustomer() != null ? order.getCustomer().getId() : null)
+                .customerName(order.getCustomer() != null ? order.getCustomer().getName() : null)
+                .tableId(order.getTable() != null ? order.getTable().getId() : null)
+                .tableNumber(order.getTable() != null ? order.getTable().getNumber() : null)
+                .totalPrice(order.getTotalPrice())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .items(order.getOrderItems().stream()
+                        .map(item -> OrderResponse.OrderItemResponse.builder()
+                                .id(item.getId())
+                                .productId(item.getProduct().getId())
+                                .productName(item.getProduct().getName())
+                                .quantity(item.getQuantity())
+                                .price(item.getPrice())
+                                .build())
+                        .collect(Collectors.toList()))
+                .persistenceState(OrderResponse.PersistenceState.PERSISTED)
+                .build();
+    }
+}
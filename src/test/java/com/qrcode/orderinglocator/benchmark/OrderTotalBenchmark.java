@@ -0,0 +1,76 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import com.qrcode.orderinglocator.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order totalling loop: the original BigDecimal multiply/add per line, {@link Money#plus}/{@link Money#times}
+ * per line, and the long accumulator OrderService uses. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderTotal} and compare the scores and gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"3", "12", "50"})
+    public int lineCount;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalPrices = new BigDecimal[lineCount];
+        moneyPrices = new Money[lineCount];
+        quantities = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            long cents = random.nextLong(50, 5000);
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            moneyPrices[i] = Money.ofMinor(cents);
+            quantities[i] = random.nextInt(1, 6);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            total = total.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            total = total.plus(moneyPrices[i].times(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money minorUnitTotal() {
+        long total = 0;
+        for (int i = 0; i < lineCount; i++) {
+            total = Math.addExact(total, Math.multiplyExact(moneyPrices[i].minorUnits(), (long) quantities[i]));
+        }
+        return Money.ofMinor(total);
+    }
+
+    @Benchmark
+    public BigDecimal minorUnitTotalToBigDecimal() {
+        // Including the single conversion paid at the persistence edge
+        return minorUnitTotal().toBigDecimal();
+    }
+}
@@ -0,0 +1,102 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import com.qrcode.orderinglocator.OrderingLocatorApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time to serve a burst of concurrent requests over HTTP, on Tomcat's platform thread pool and on virtual threads
+ * with the bounded DataSource. Each burst mixes menu reads with authenticated order creation, so most requests
+ * wait on the database through the JWT user lookup and the insert.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RequestExecution}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String ORDER = "{\"tableId\":1,\"items\":[{\"productId\":1,\"quantity\":2},{\"productId\":3,\"quantity\":1}]}";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"400"})
+    public int concurrency;
+
+    @Param({"25"})
+    public int orderPercent;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest menu;
+    private HttpRequest order;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(OrderingLocatorApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--warmup.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.qrcode.orderinglocator=WARN",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads));
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"alice@example.com\",\"password\":\"Customer@123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN.matcher(login.body());
+        if (!token.find()) {
+            throw new IllegalStateException("Login failed: " + login.statusCode() + " " + login.body());
+        }
+
+        menu = HttpRequest.newBuilder(URI.create(base + "/api/menu?table_id=1")).GET().build();
+        order = HttpRequest.newBuilder(URI.create(base + "/api/orders"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token.group(1))
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int mixedBurst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            HttpRequest request = i % 100 < orderPercent ? order : menu;
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int failed = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() >= 400) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + concurrency + " requests failed");
+        }
+        return concurrency;
+    }
+}
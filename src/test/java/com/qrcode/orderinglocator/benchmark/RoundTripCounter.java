@@ -0,0 +1,28 @@
+package com.qrcode.orderinglocator.benchmark;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts JDBC round-trips across all sessions: every executed statement and every executed batch.
+ * Registered through {@code hibernate.session.events.auto}, which creates one instance per session.
+ */
+public class RoundTripCounter implements SessionEventListener {
+
+    private static final LongAdder ROUND_TRIPS = new LongAdder();
+
+    public static long total() {
+        return ROUND_TRIPS.sum();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ROUND_TRIPS.increment();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ROUND_TRIPS.increment();
+    }
+}
@@ -0,0 +1,112 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.dto.menu.MenuResponse;
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.CategoryRepository;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuPayloadCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SettingsRepository settingsRepository;
+
+    private MenuSnapshotCache menuSnapshotCache;
+    private MenuPayloadCache menuPayloadCache;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        menuSnapshotCache = new MenuSnapshotCache(categoryRepository, new RestaurantSettingsProvider(settingsRepository, event -> {}), new SimpleMeterRegistry());
+        menuPayloadCache = new MenuPayloadCache(menuSnapshotCache, new ObjectMapper());
+
+        product = Product.builder()
+                .id(1L)
+                .name("Coffee")
+                .price(new BigDecimal("2.49"))
+                .build();
+        Category category = Category.builder()
+                .id(1L)
+                .name("Beverages")
+                .products(new ArrayList<>(List.of(product)))
+                .build();
+
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+    }
+
+    @Test
+    void get_SameVersionAndTable_ReturnsCachedPayload() {
+        MenuPayload first = menuPayloadCache.get(null);
+        MenuPayload second = menuPayloadCache.get(null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.etag()).isNotEqualTo(first.gzipEtag());
+    }
+
+    @Test
+    void get_DifferentTables_SerializeSeparately() {
+        MenuPayload withoutTable = menuPayloadCache.get(null);
+        MenuPayload withTable = menuPayloadCache.get(new MenuResponse.TableInfo(3L, 7));
+
+        assertThat(withTable).isNotSameAs(withoutTable);
+        assertThat(withTable.etag()).isNotEqualTo(withoutTable.etag());
+        assertThat(new String(withTable.json())).contains("\"table\":{\"id\":3,\"number\":7}");
+    }
+
+    @Test
+    void get_GzipVariant_DecompressesToJson() throws IOException {
+        MenuPayload payload = menuPayloadCache.get(null);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(payload.json());
+        }
+    }
+
+    @Test
+    void get_AfterCatalogChange_ReturnsNewVersionAndTag() {
+        MenuPayload first = menuPayloadCache.get(null);
+
+        product.setPrice(new BigDecimal("2.99"));
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+        MenuPayload second = menuPayloadCache.get(null);
+
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        assertThat(first.matches(second.etag())).isFalse();
+    }
+
+    @Test
+    void matches_HandlesListsWeakTagsAndWildcard() {
+        MenuPayload payload = menuPayloadCache.get(null);
+
+        assertThat(payload.matches("\"other\", " + payload.etag())).isTrue();
+        assertThat(payload.matches("W/" + payload.gzipEtag())).isTrue();
+        assertThat(payload.matches("*")).isTrue();
+        assertThat(payload.matches("\"other\"")).isFalse();
+        assertThat(payload.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,178 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.event.RestaurantSettingsChangedEvent;
+import com.qrcode.orderinglocator.repository.CategoryRepository;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSnapshotCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SettingsRepository settingsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestaurantSettingsProvider settingsProvider;
+    private MenuSnapshotCache menuSnapshotCache;
+
+    private Settings settings;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .name("Coffee")
+                .price(new BigDecimal("2.49"))
+                .build();
+
+        category = Category.builder()
+                .id(1L)
+                .name("Beverages")
+                .products(new ArrayList<>(List.of(product)))
+                .build();
+
+        settings = Settings.builder().id(1L).name("Test Restaurant").build();
+
+        meterRegistry = new SimpleMeterRegistry();
+        settingsProvider = new RestaurantSettingsProvider(settingsRepository,
+                event -> menuSnapshotCache.onSettingsChanged((RestaurantSettingsChangedEvent) event));
+        menuSnapshotCache = new MenuSnapshotCache(categoryRepository, settingsProvider, meterRegistry);
+
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenAnswer(invocation -> Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+    }
+
+    @Test
+    void current_BuildsSnapshotOnceAndReusesIt() {
+        MenuSnapshot first = menuSnapshotCache.current();
+        MenuSnapshot second = menuSnapshotCache.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.version()).isEqualTo(1L);
+        assertThat(first.restaurant().getName()).isEqualTo("Test Restaurant");
+        verify(categoryRepository, times(1)).findAllWithProducts();
+    }
+
+    @Test
+    void onEntityChanged_WithCatalogChange_RebuildsWithNewVersion() {
+        MenuSnapshot first = menuSnapshotCache.current();
+
+        product.setPrice(new BigDecimal("2.99"));
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+        MenuSnapshot second = menuSnapshotCache.current();
+
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(second.categories().get(0).getProducts().get(0).getPrice()).isEqualByComparingTo("2.99");
+        verify(categoryRepository, times(2)).findAllWithProducts();
+    }
+
+    @Test
+    void onEntityChanged_WithUnchangedContent_KeepsVersion() {
+        MenuSnapshot first = menuSnapshotCache.current();
+
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Category.class, 1L));
+        MenuSnapshot second = menuSnapshotCache.current();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version()).isEqualTo(first.version());
+    }
+
+    @Test
+    void onSettingsChanged_RebuildsWithReloadedRestaurantInfo() {
+        MenuSnapshot first = menuSnapshotCache.current();
+
+        settings = Settings.builder().id(1L).name("Renamed Restaurant").build();
+        settingsProvider.onEntityChanged(new EntityChangedEvent(Settings.class, 1L));
+        MenuSnapshot second = menuSnapshotCache.current();
+
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(second.restaurant().getName()).isEqualTo("Renamed Restaurant");
+    }
+
+    @Test
+    void onEntityChanged_WithUnrelatedEntity_KeepsSnapshot() {
+        MenuSnapshot first = menuSnapshotCache.current();
+
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(RestaurantTable.class, 1L));
+
+        assertThat(menuSnapshotCache.current()).isSameAs(first);
+        verify(categoryRepository, times(1)).findAllWithProducts();
+    }
+
+    @Test
+    void current_ReturnsImmutableCategories() {
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+
+        assertThatThrownBy(() -> snapshot.categories().add(null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.categories().get(0).getProducts().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void current_ConcurrentMissesOnSameGeneration_ShareOneRebuild() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryRepository.findAllWithProducts()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(category);
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<MenuSnapshot>> results = new ArrayList<>();
+            results.add(executor.submit(menuSnapshotCache::current));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(menuSnapshotCache::current));
+            }
+
+            // Wait until every other caller is parked on the in-flight rebuild
+            while (meterRegistry.counter("cache.load.coalesced", "cache", "menu.snapshot").count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            MenuSnapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<MenuSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(categoryRepository, times(1)).findAllWithProducts();
+        assertThat(meterRegistry.timer("cache.load.duration", "cache", "menu.snapshot").count()).isEqualTo(1);
+    }
+}
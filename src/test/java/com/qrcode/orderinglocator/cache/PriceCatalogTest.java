@@ -0,0 +1,93 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.CategoryRepository;
+import com.qrcode.orderinglocator.repository.ProductRepository;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import com.qrcode.orderinglocator.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceCatalogTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SettingsRepository settingsRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private MenuSnapshotCache menuSnapshotCache;
+    private PriceCatalog priceCatalog;
+
+    private Category category;
+    private Product coffee;
+
+    @BeforeEach
+    void setUp() {
+        menuSnapshotCache = new MenuSnapshotCache(categoryRepository,
+                new RestaurantSettingsProvider(settingsRepository, event -> {}), new SimpleMeterRegistry());
+        priceCatalog = new PriceCatalog(menuSnapshotCache, productRepository);
+
+        coffee = Product.builder().id(1L).name("Coffee").price(new BigDecimal("2.49")).build();
+        category = Category.builder()
+                .id(1L)
+                .name("Beverages")
+                .products(new ArrayList<>(List.of(coffee)))
+                .build();
+
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+    }
+
+    @Test
+    void resolve_WithKnownIds_AnswersFromSnapshotWithoutQuerying() {
+        Map<Long, PriceCatalog.ProductPrice> prices = priceCatalog.resolve(List.of(1L));
+
+        assertThat(prices.get(1L).price()).isEqualTo(Money.ofMinor(249));
+        assertThat(prices.get(1L).name()).isEqualTo("Coffee");
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void resolve_WithIdsMissingFromSnapshot_LoadsThemInOneQuery() {
+        Product tea = Product.builder().id(2L).name("Tea").price(new BigDecimal("1.99")).build();
+        when(productRepository.findAllById(List.of(2L, 999L))).thenReturn(List.of(tea));
+
+        Map<Long, PriceCatalog.ProductPrice> prices = priceCatalog.resolve(List.of(1L, 2L, 999L));
+
+        assertThat(prices).containsOnlyKeys(1L, 2L);
+        assertThat(prices.get(2L).price()).isEqualTo(Money.ofMinor(199));
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void find_AfterPriceChange_FollowsNewMenuVersion() {
+        long firstVersion = priceCatalog.version();
+
+        coffee.setPrice(new BigDecimal("2.99"));
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+
+        assertThat(priceCatalog.find(1L)).map(PriceCatalog.ProductPrice::price).contains(Money.ofMinor(299));
+        assertThat(priceCatalog.version()).isEqualTo(firstVersion + 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Category;
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    private Category beverages;
+    private Product coffee;
+    private Product latte;
+    private Product burger;
+
+    @BeforeEach
+    void setUp() {
+        beverages = Category.builder().id(1L).name("Beverages").build();
+        Category mains = Category.builder().id(2L).name("Mains").build();
+
+        coffee = product(1L, beverages, "Coffee", "Freshly brewed house blend");
+        latte = product(2L, beverages, "Caffè Latte", "Espresso with steamed milk and a little coffee foam");
+        burger = product(3L, mains, "Classic Burger", "Beef patty with cheese");
+
+        lenient().when(productRepository.findAll()).thenReturn(List.of(coffee, latte, burger));
+    }
+
+    @Test
+    void search_RanksNameMatchesAboveDescriptionMatches() {
+        List<ProductSearchIndex.Hit> hits = productSearchIndex.search("coffee", 10);
+
+        assertThat(hits).extracting(hit -> hit.product().id()).containsExactly(1L, 2L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void search_MatchesPrefixesAsYouType() {
+        assertThat(productSearchIndex.search("bur", 10))
+                .extracting(hit -> hit.product().name())
+                .containsExactly("Classic Burger");
+    }
+
+    @Test
+    void search_ToleratesTyposAndAccents() {
+        assertThat(productSearchIndex.search("cofee", 10)).extracting(hit -> hit.product().id()).contains(1L);
+        assertThat(productSearchIndex.search("burgre", 10)).extracting(hit -> hit.product().id()).containsExactly(3L);
+        assertThat(productSearchIndex.search("caffe", 10)).extracting(hit -> hit.product().id()).contains(2L);
+    }
+
+    @Test
+    void search_RequiresEveryTerm() {
+        assertThat(productSearchIndex.search("latte milk", 10)).extracting(hit -> hit.product().id()).containsExactly(2L);
+        assertThat(productSearchIndex.search("latte cheese", 10)).isEmpty();
+    }
+
+    @Test
+    void search_WithBlankQuery_ReturnsNothingWithoutLoading() {
+        assertThat(productSearchIndex.search("  ", 10)).isEmpty();
+
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void onEntityChanged_WithProductChange_ReindexesOnlyThatProduct() {
+        productSearchIndex.search("coffee", 10);
+
+        Product renamed = product(1L, beverages, "Americano", "Long black");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(renamed));
+        productSearchIndex.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+
+        assertThat(productSearchIndex.search("americano", 10)).extracting(hit -> hit.product().id()).containsExactly(1L);
+        assertThat(productSearchIndex.search("coffee", 10)).extracting(hit -> hit.product().id()).containsExactly(2L);
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onEntityChanged_WithDeletedProduct_RemovesIt() {
+        productSearchIndex.search("burger", 10);
+
+        when(productRepository.findById(3L)).thenReturn(Optional.empty());
+        productSearchIndex.onEntityChanged(new EntityChangedEvent(Product.class, 3L));
+
+        assertThat(productSearchIndex.search("burger", 10)).isEmpty();
+        assertThat(productSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onEntityChanged_BeforeFirstSearchOrForOtherEntities_DoesNothing() {
+        productSearchIndex.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+        productSearchIndex.search("coffee", 10);
+        productSearchIndex.onEntityChanged(new EntityChangedEvent(Settings.class, 1L));
+
+        verify(productRepository, never()).findById(any());
+    }
+
+    private Product product(Long id, Category category, String name, String description) {
+        return Product.builder()
+                .id(id)
+                .category(category)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("3.50"))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.event.RestaurantSettingsChangedEvent;
+import com.qrcode.orderinglocator.repository.SettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantSettingsProviderTest {
+
+    @Mock
+    private SettingsRepository settingsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RestaurantSettingsProvider settingsProvider;
+
+    private Settings settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = Settings.builder()
+                .id(1L)
+                .name("Test Restaurant")
+                .address("Test Address")
+                .phoneNumber("+1234567890")
+                .build();
+    }
+
+    @Test
+    void get_LoadsOnceAndServesFromMemory() {
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+
+        RestaurantSettings first = settingsProvider.get().orElseThrow();
+        RestaurantSettings second = settingsProvider.get().orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.name()).isEqualTo("Test Restaurant");
+        assertThat(settingsProvider.restaurantInfo().getAddress()).isEqualTo("Test Address");
+        verify(settingsRepository, times(1)).findFirstByOrderByIdAsc();
+    }
+
+    @Test
+    void get_WithoutSettingsRow_ReturnsEmpty() {
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        assertThat(settingsProvider.get()).isEmpty();
+        assertThat(settingsProvider.restaurantInfo()).isNull();
+    }
+
+    @Test
+    void onEntityChanged_WithSettingsChange_ReloadsAndPublishes() {
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        settingsProvider.get();
+
+        settings.setName("Renamed Restaurant");
+        settingsProvider.onEntityChanged(new EntityChangedEvent(Settings.class, 1L));
+
+        assertThat(settingsProvider.get().orElseThrow().name()).isEqualTo("Renamed Restaurant");
+        verify(eventPublisher).publishEvent(new RestaurantSettingsChangedEvent(2L));
+    }
+
+    @Test
+    void onEntityChanged_WithUnrelatedEntity_KeepsSettings() {
+        settingsProvider.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+
+        verify(settingsRepository, never()).findFirstByOrderByIdAsc();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.qrcode.orderinglocator.cache;
+
+import com.qrcode.orderinglocator.entity.Product;
+import com.qrcode.orderinglocator.entity.RestaurantTable;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
+import com.qrcode.orderinglocator.repository.RestaurantTableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableDirectoryTest {
+
+    @Mock
+    private RestaurantTableRepository tableRepository;
+
+    @InjectMocks
+    private TableDirectory tableDirectory;
+
+    private List<RestaurantTable> tables;
+
+    @BeforeEach
+    void setUp() {
+        tables = new ArrayList<>(List.of(
+                RestaurantTable.builder().id(1L).number(1).qrCodeUrl("http://example.com/qr1").build(),
+                RestaurantTable.builder().id(2L).number(2).qrCodeUrl("http://example.com/qr2").build()));
+
+        when(tableRepository.findAll()).thenAnswer(invocation -> List.copyOf(tables));
+    }
+
+    @Test
+    void findById_LoadsOnceAndServesFromMemory() {
+        assertThat(tableDirectory.findById(1L)).contains(new TableEntry(1L, 1, "http://example.com/qr1"));
+        assertThat(tableDirectory.findByNumber(2)).map(TableEntry::id).contains(2L);
+        assertThat(tableDirectory.findById(999L)).isEmpty();
+        assertThat(tableDirectory.all()).hasSize(2);
+
+        verify(tableRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onEntityChanged_WithTableChange_Reloads() {
+        tableDirectory.findById(1L);
+
+        tables.add(RestaurantTable.builder().id(3L).number(7).build());
+        tableDirectory.onEntityChanged(new EntityChangedEvent(RestaurantTable.class, 3L));
+
+        assertThat(tableDirectory.findByNumber(7)).map(TableEntry::id).contains(3L);
+        verify(tableRepository, times(2)).findAll();
+    }
+
+    @Test
+    void onEntityChanged_WithUnrelatedEntity_KeepsDirectory() {
+        tableDirectory.findById(1L);
+
+        tableDirectory.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+        tableDirectory.findById(1L);
+
+        verify(tableRepository, times(1)).findAll();
+    }
+}
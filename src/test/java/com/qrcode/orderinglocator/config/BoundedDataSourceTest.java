@@ -0,0 +1,113 @@
+package com.qrcode.orderinglocator.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new BoundedDataSource(target, 2, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void getConnection_HoldsPermitUntilClosed() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        first.close();
+
+        verify(connection).close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void close_Twice_ReleasesPermitOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_WhenExhausted_TimesOut() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.counter("db.connections.permit.timeouts").count()).isEqualTo(1);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_WhenExhausted_WaitsForRelease() throws Exception {
+        dataSource = new BoundedDataSource(target, 1, Duration.ofSeconds(5), meterRegistry);
+        when(target.getConnection()).thenReturn(connection);
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        held.close();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(meterRegistry.timer("db.connections.permit.wait").count()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ReturnsPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool closed"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool closed");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void connection_DelegatesOtherCallsToTarget() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        Connection wrapped = dataSource.getConnection();
+
+        assertThat(wrapped.getAutoCommit()).isFalse();
+        doThrow(new SQLException("broken")).when(connection).commit();
+        assertThatThrownBy(wrapped::commit).isInstanceOf(SQLException.class).hasMessage("broken");
+    }
+}
@@ -0,0 +1,122 @@
+package com.qrcode.orderinglocator.integration;
+
+import com.qrcode.orderinglocator.dto.auth.AuthResponse;
+import com.qrcode.orderinglocator.dto.auth.LoginRequest;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"orders.ingestion.async-accept=true", "orders.ingestion.group-commit=true"})
+@ActiveProfiles("test")
+class AsyncOrderIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private HttpHeaders adminHeaders;
+
+    @BeforeEach
+    void setUp() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("admin@qrlocator.com");
+        login.setPassword("Admin@123");
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(restTemplate.postForObject(url("/api/auth/login"), login, AuthResponse.class).getToken());
+    }
+
+    @Test
+    void createOrder_PreferringAsync_IsAcceptedThenPersistedUnderTheSameId() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(adminHeaders);
+        headers.set("Prefer", "respond-async");
+
+        ResponseEntity<OrderResponse> accepted = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(orderRequest(), headers), OrderResponse.class);
+
+        assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(accepted.getHeaders().getFirst("Preference-Applied")).isEqualTo("respond-async");
+        assertThat(accepted.getBody().getId()).isNotNull();
+        assertThat(accepted.getBody().getTotalPrice()).isEqualByComparingTo("25.98");
+        URI location = accepted.getHeaders().getLocation();
+        assertThat(location.getPath()).isEqualTo("/api/orders/" + accepted.getBody().getId());
+
+        OrderResponse polled = poll(location);
+        assertThat(polled.getPersistenceState()).isEqualTo(OrderResponse.PersistenceState.PERSISTED);
+        assertThat(polled.getId()).isEqualTo(accepted.getBody().getId());
+        assertThat(polled.getCreatedAt()).isNotNull();
+        assertThat(polled.getItems()).hasSize(1);
+    }
+
+    @Test
+    void createOrder_WithoutPreference_IsWrittenBeforeResponding() {
+        ResponseEntity<OrderResponse> created = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(orderRequest(), adminHeaders), OrderResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().getPersistenceState()).isEqualTo(OrderResponse.PersistenceState.PERSISTED);
+    }
+
+    @Test
+    void createOrder_WithIdempotencyKey_IsWrittenWithItsKeyBeforeRespondingAndReplayed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(adminHeaders);
+        headers.set("Prefer", "respond-async");
+        headers.set("Idempotency-Key", "async-" + System.nanoTime());
+
+        ResponseEntity<OrderResponse> created = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(orderRequest(), headers), OrderResponse.class);
+        ResponseEntity<OrderResponse> retried = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(orderRequest(), headers), OrderResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().getPersistenceState()).isEqualTo(OrderResponse.PersistenceState.PERSISTED);
+        assertThat(retried.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retried.getBody().getId()).isEqualTo(created.getBody().getId());
+    }
+
+    private OrderResponse poll(URI location) throws InterruptedException {
+        OrderResponse order = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            order = restTemplate.exchange(location, HttpMethod.GET, new HttpEntity<>(adminHeaders), OrderResponse.class).getBody();
+            if (order.getPersistenceState() != OrderResponse.PersistenceState.ACCEPTED) {
+                return order;
+            }
+            Thread.sleep(100);
+        }
+        return order;
+    }
+
+    private CreateOrderRequest orderRequest() {
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setProductId(1L);
+        item.setQuantity(2);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setTableId(1L);
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
@@ -0,0 +1,145 @@
+package com.qrcode.orderinglocator.integration;
+
+import com.qrcode.orderinglocator.cache.MenuSnapshotCache;
+import com.qrcode.orderinglocator.dto.auth.AuthResponse;
+import com.qrcode.orderinglocator.dto.auth.LoginRequest;
+import com.qrcode.orderinglocator.dto.menu.CategoryProductsResponse;
+import com.qrcode.orderinglocator.dto.menu.CategorySummaryResponse;
+import com.qrcode.orderinglocator.dto.product.ProductSearchResponse;
+import com.qrcode.orderinglocator.dto.table.TableRequest;
+import com.qrcode.orderinglocator.dto.table.TableResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MenuIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Test
+    void getMenu_WithMatchingEtag_ReturnsNotModified() {
+        ResponseEntity<String> first = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/menu?table_id=1", String.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).contains("\"categories\"");
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> second = restTemplate.exchange(
+                "http://localhost:" + port + "/api/menu?table_id=1", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void getMenu_AcceptingGzip_ReturnsCompressedBody() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                "http://localhost:" + port + "/api/menu", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(in.readAllBytes())).contains("\"categories\"");
+        }
+    }
+
+    @Test
+    void getMenuCategories_ThenPageProducts_ReturnsCursorPages() {
+        ResponseEntity<CategorySummaryResponse[]> categories = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/menu/categories", CategorySummaryResponse[].class);
+
+        assertThat(categories.getStatusCode()).isEqualTo(HttpStatus.OK);
+        CategorySummaryResponse mainCourses = Arrays.stream(categories.getBody())
+                .filter(category -> category.getName().equals("Main Courses"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(mainCourses.getProductCount()).isEqualTo(3L);
+
+        String productsUrl = "http://localhost:" + port + "/api/menu/categories/" + mainCourses.getId() + "/products?size=2";
+        CategoryProductsResponse firstPage = restTemplate.getForObject(productsUrl, CategoryProductsResponse.class);
+        assertThat(firstPage.getProducts()).hasSize(2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        CategoryProductsResponse secondPage = restTemplate.getForObject(
+                productsUrl + "&after=" + firstPage.getNextCursor(), CategoryProductsResponse.class);
+        assertThat(secondPage.getProducts()).hasSize(1);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchProducts_WithTypoedPrefix_ReturnsRankedMatchesAnonymously() {
+        ResponseEntity<ProductSearchResponse> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/products/search?q=chiken", ProductSearchResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getResults())
+                .extracting(ProductSearchResponse.ProductResult::getName)
+                .containsExactlyInAnyOrder("Chicken Wings", "Grilled Chicken");
+    }
+
+    @Test
+    void readiness_AfterWarmup_IsUpWithMenuPreloaded() {
+        ResponseEntity<String> readiness = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/health/readiness", String.class);
+
+        assertThat(readiness.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readiness.getBody()).contains("\"UP\"");
+        assertThat(menuSnapshotCache.current().categories()).isNotEmpty();
+    }
+
+    @Test
+    void createTable_AsAdmin_MakesTableAvailableToMenu() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("admin@qrlocator.com");
+        login.setPassword("Admin@123");
+        AuthResponse auth = restTemplate.postForObject(
+                "http://localhost:" + port + "/api/auth/login", login, AuthResponse.class);
+
+        TableRequest request = new TableRequest();
+        request.setNumber(42);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(auth.getToken());
+        ResponseEntity<TableResponse> created = restTemplate.exchange(
+                "http://localhost:" + port + "/api/tables", HttpMethod.POST, new HttpEntity<>(request, headers), TableResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<String> menu = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/menu?table_id=" + created.getBody().getId(), String.class);
+
+        assertThat(menu.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(menu.getBody()).contains("\"number\":42");
+    }
+}
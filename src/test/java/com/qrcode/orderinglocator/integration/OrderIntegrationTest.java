@@ -0,0 +1,419 @@
+package com.qrcode.orderinglocator.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qrcode.orderinglocator.dto.auth.AuthResponse;
+import com.qrcode.orderinglocator.dto.auth.LoginRequest;
+import com.qrcode.orderinglocator.dto.order.BatchCreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.BatchCreateOrderResponse;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusRequest;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusResponse;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.entity.OrderItem;
+import com.qrcode.orderinglocator.service.OrderIdempotencyService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpHeaders customerHeaders;
+
+    @BeforeEach
+    void setUp() {
+        customerHeaders = new HttpHeaders();
+        customerHeaders.setBearerAuth(login("alice@example.com", "Customer@123"));
+    }
+
+    @Test
+    void createOrder_WithSeveralItems_PricesFromCatalogAndReturnsCreated() {
+        CreateOrderRequest request = orderRequest(1L, item(1L, 2), item(2L, 1));
+
+        ResponseEntity<OrderResponse> response = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(request, customerHeaders), OrderResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        OrderResponse order = response.getBody();
+        assertThat(order.getId()).isNotNull();
+        assertThat(order.getCreatedAt()).isNotNull();
+        assertThat(order.getTableNumber()).isEqualTo(1);
+        assertThat(order.getItems()).extracting(OrderResponse.OrderItemResponse::getProductName)
+                .containsExactly("Chicken Wings", "Mozzarella Sticks");
+        assertThat(order.getTotalPrice()).isEqualByComparingTo("34.97");
+    }
+
+    @Test
+    void createOrder_WithUnknownProduct_ReturnsNotFound() {
+        CreateOrderRequest request = orderRequest(1L, item(1L, 1), item(999L, 1));
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(request, customerHeaders), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).contains("Product not found with ID: 999");
+    }
+
+    @Test
+    void createOrder_RetriedWithSameIdempotencyKey_ReturnsOriginalOrder() {
+        CreateOrderRequest request = orderRequest(2L, item(3L, 1));
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(customerHeaders);
+        headers.set("Idempotency-Key", "retry-" + System.nanoTime());
+
+        ResponseEntity<OrderResponse> first = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(request, headers), OrderResponse.class);
+        ResponseEntity<OrderResponse> retry = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(request, headers), OrderResponse.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("false");
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retry.getBody().getId()).isEqualTo(first.getBody().getId());
+        assertThat(retry.getBody().getCreatedAt()).isEqualTo(first.getBody().getCreatedAt());
+    }
+
+    @Test
+    void createOrder_ReusingIdempotencyKeyForDifferentOrder_ReturnsUnprocessable() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(customerHeaders);
+        headers.set("Idempotency-Key", "reuse-" + System.nanoTime());
+
+        restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                new HttpEntity<>(orderRequest(2L, item(3L, 1)), headers), OrderResponse.class);
+        ResponseEntity<String> reused = restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                new HttpEntity<>(orderRequest(2L, item(3L, 2)), headers), String.class);
+
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void purgeExpiredKeys_DeletesOnlyKeysOlderThanTheTtl() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(customerHeaders);
+        String expired = "expired-" + System.nanoTime();
+        String recent = "recent-" + System.nanoTime();
+        headers.set("Idempotency-Key", expired);
+        restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                new HttpEntity<>(orderRequest(2L, item(3L, 1)), headers), OrderResponse.class);
+        headers.set("Idempotency-Key", recent);
+        restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                new HttpEntity<>(orderRequest(2L, item(3L, 1)), headers), OrderResponse.class);
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE idempotency_key = ?",
+                LocalDateTime.now().minusDays(2), expired);
+
+        orderIdempotencyService.purgeExpiredKeys();
+
+        assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM idempotency_keys WHERE idempotency_key IN (?, ?)",
+                String.class, expired, recent)).containsExactly(recent);
+    }
+
+    @Test
+    void createOrders_WithOneInvalidOrder_CreatesTheRestAndReportsEachOrder() {
+        BatchCreateOrderRequest request = new BatchCreateOrderRequest();
+        request.setOrders(List.of(
+                orderRequest(3L, item(1L, 1)),
+                orderRequest(3L, item(999L, 1)),
+                orderRequest(3L, item(2L, 2), item(4L, 1))));
+
+        ResponseEntity<BatchCreateOrderResponse> response = restTemplate.exchange(
+                url("/api/orders/batch"), HttpMethod.POST, new HttpEntity<>(request, customerHeaders), BatchCreateOrderResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        BatchCreateOrderResponse batch = response.getBody();
+        assertThat(batch.getCreated()).isEqualTo(2);
+        assertThat(batch.getFailed()).isEqualTo(1);
+        assertThat(batch.getResults()).extracting(BatchCreateOrderResponse.OrderResult::getStatus)
+                .containsExactly(201, 404, 201);
+        assertThat(batch.getResults().get(1).getError()).contains("Product not found with ID: 999");
+        assertThat(batch.getResults().get(2).getOrder().getItems()).hasSize(2);
+        assertThat(batch.getResults().get(0).getOrder().getId())
+                .isNotEqualTo(batch.getResults().get(2).getOrder().getId());
+    }
+
+    @Test
+    void createOrders_AsCashier_IsForbiddenLikeASingleOrder() {
+        BatchCreateOrderRequest request = new BatchCreateOrderRequest();
+        request.setOrders(List.of(orderRequest(3L, item(1L, 1))));
+        HttpHeaders cashierHeaders = new HttpHeaders();
+        cashierHeaders.setBearerAuth(login("cashier@qrlocator.com", "Cashier@123"));
+
+        ResponseEntity<String> batch = restTemplate.exchange(
+                url("/api/orders/batch"), HttpMethod.POST, new HttpEntity<>(request, cashierHeaders), String.class);
+        ResponseEntity<String> single = restTemplate.exchange(
+                url("/api/orders"), HttpMethod.POST, new HttpEntity<>(orderRequest(3L, item(1L, 1)), cashierHeaders), String.class);
+
+        assertThat(batch.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(single.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void updateOrderStatus_SameTransitionTwiceAtOnce_OneWinsAndTheOtherConflicts() {
+        Long orderId = restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                new HttpEntity<>(orderRequest(1L, item(1L, 1)), customerHeaders), OrderResponse.class).getBody().getId();
+        String cashierToken = login("cashier@qrlocator.com", "Cashier@123");
+
+        ExecutorService cashiers = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Integer>> attempts = List.of(
+                    CompletableFuture.supplyAsync(() -> moveTo(orderId, "IN_PREPARATION", cashierToken), cashiers),
+                    CompletableFuture.supplyAsync(() -> moveTo(orderId, "IN_PREPARATION", cashierToken), cashiers));
+
+            assertThat(attempts).extracting(CompletableFuture::join).containsExactlyInAnyOrder(200, 409);
+        } finally {
+            cashiers.shutdown();
+        }
+
+        assertThat(moveTo(orderId, "READY", cashierToken)).isEqualTo(200);
+        assertThat(moveTo(orderId, "PENDING", cashierToken)).isEqualTo(400);
+        assertThat(moveTo(999_999L, "READY", cashierToken)).isEqualTo(404);
+    }
+
+    @Test
+    void updateOrderStatuses_RunOfTickets_MovesEachValidOrderAndReportsTheRest() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orderIds.add(restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                    new HttpEntity<>(orderRequest(2L, item(1L, 1)), customerHeaders), OrderResponse.class).getBody().getId());
+        }
+        String cashierToken = login("cashier@qrlocator.com", "Cashier@123");
+        assertThat(moveTo(orderIds.get(2), "IN_PREPARATION", cashierToken)).isEqualTo(200);
+
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setTransitions(List.of(
+                new BulkUpdateOrderStatusRequest.Transition(orderIds.get(0), Order.OrderStatus.IN_PREPARATION),
+                new BulkUpdateOrderStatusRequest.Transition(orderIds.get(1), Order.OrderStatus.IN_PREPARATION),
+                new BulkUpdateOrderStatusRequest.Transition(orderIds.get(2), Order.OrderStatus.READY),
+                new BulkUpdateOrderStatusRequest.Transition(orderIds.get(0), Order.OrderStatus.DELIVERED),
+                new BulkUpdateOrderStatusRequest.Transition(999_999L, Order.OrderStatus.READY)));
+
+        BulkUpdateOrderStatusResponse response = RestAssured.given()
+                .port(port)
+                .auth().oauth2(cashierToken)
+                .contentType(ContentType.JSON)
+                .body(request)
+                .patch("/api/orders/status")
+                .then().statusCode(200)
+                .extract().as(BulkUpdateOrderStatusResponse.class);
+
+        assertThat(response.getUpdated()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BulkUpdateOrderStatusResponse.TransitionResult::getStatus)
+                .containsExactly(200, 200, 200, 400, 404);
+        HttpHeaders cashierHeaders = new HttpHeaders();
+        cashierHeaders.setBearerAuth(cashierToken);
+        assertThat(restTemplate.exchange(url("/api/orders/" + orderIds.get(2)), HttpMethod.GET,
+                new HttpEntity<>(cashierHeaders), OrderResponse.class).getBody().getStatus()).isEqualTo(Order.OrderStatus.READY);
+    }
+
+    @Test
+    void getOrders_LoadsOnlyTheRequestedPage() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            orderIds.add(restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                    new HttpEntity<>(orderRequest(7L, item(1L, 1), item(2L, 1)), customerHeaders), OrderResponse.class).getBody().getId());
+        }
+        HttpHeaders cashierHeaders = new HttpHeaders();
+        cashierHeaders.setBearerAuth(login("cashier@qrlocator.com", "Cashier@123"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            JsonNode page = restTemplate.exchange(url("/api/orders?table_id=7&size=5&page=1"), HttpMethod.GET,
+                    new HttpEntity<>(cashierHeaders), JsonNode.class).getBody();
+
+            assertThat(page.get("totalElements").asLong()).isEqualTo(12);
+            List<Long> ids = new ArrayList<>();
+            page.get("content").forEach(order -> {
+                ids.add(order.get("id").asLong());
+                assertThat(order.get("items")).hasSize(2);
+            });
+            // Newest first, so the second page of five holds the 7th to 3rd most recent orders
+            assertThat(ids).containsExactlyElementsOf(orderIds.reversed().subList(5, 10));
+            // Read as flat rows: five orders and their ten lines, and no managed entities
+            assertThat(rowsReturnedBy(statistics, "OrderRow(")).isEqualTo(5);
+            assertThat(rowsReturnedBy(statistics, "OrderItemRow(")).isEqualTo(10);
+            assertThat(statistics.getEntityStatistics(Order.class.getName()).getLoadCount()).isZero();
+            assertThat(statistics.getEntityStatistics(OrderItem.class.getName()).getLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void getOrdersByCursor_WalksEveryOrderOnceWhileNewOnesArrive() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                    new HttpEntity<>(orderRequest(8L, item(1L, 1)), customerHeaders), OrderResponse.class).getBody().getId());
+        }
+        HttpHeaders cashierHeaders = new HttpHeaders();
+        cashierHeaders.setBearerAuth(login("cashier@qrlocator.com", "Cashier@123"));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = restTemplate.exchange(url("/api/orders?table_id=8&size=2&cursor=" + cursor), HttpMethod.GET,
+                    new HttpEntity<>(cashierHeaders), JsonNode.class).getBody();
+            page.get("content").forEach(order -> seen.add(order.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            if (seen.size() == 2) {
+                // Arrives ahead of the cursor, so it neither shows up nor pushes a row onto the next page
+                restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                        new HttpEntity<>(orderRequest(8L, item(1L, 1)), customerHeaders), OrderResponse.class);
+            }
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(orderIds.reversed());
+
+        ResponseEntity<String> tampered = restTemplate.exchange(url("/api/orders?cursor=not-a-cursor"), HttpMethod.GET,
+                new HttpEntity<>(cashierHeaders), String.class);
+        assertThat(tampered.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void streamBoard_SendsSnapshotThenEachChangeUntilDelivered() throws Exception {
+        String cashierToken = login("cashier@qrlocator.com", "Cashier@123");
+        HttpResponse<Stream<String>> board = HttpClient.newHttpClient().sendAsync(
+                HttpRequest.newBuilder(URI.create(url("/api/orders/board?table_id=5")))
+                        .header("Authorization", "Bearer " + cashierToken)
+                        .header("Accept", "text/event-stream")
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS);
+        assertThat(board.statusCode()).isEqualTo(200);
+        assertThat(board.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/event-stream"));
+
+        try (Stream<String> lines = board.body()) {
+            Iterator<String> events = lines.iterator();
+            assertThat(nextEvent(events)).containsEntry("event", "snapshot").containsEntry("data", "[]");
+
+            Long orderId = restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                    new HttpEntity<>(orderRequest(5L, item(1L, 1)), customerHeaders), OrderResponse.class).getBody().getId();
+            restTemplate.exchange(url("/api/orders"), HttpMethod.POST,
+                    new HttpEntity<>(orderRequest(6L, item(1L, 1)), customerHeaders), OrderResponse.class);
+            assertThat(moveTo(orderId, "IN_PREPARATION", cashierToken)).isEqualTo(200);
+            assertThat(moveTo(orderId, "READY", cashierToken)).isEqualTo(200);
+            assertThat(moveTo(orderId, "DELIVERED", cashierToken)).isEqualTo(200);
+
+            for (String status : List.of("PENDING", "IN_PREPARATION", "READY")) {
+                Map<String, String> event = nextEvent(events);
+                assertThat(event).containsEntry("event", "order");
+                assertThat(event.get("data")).contains("\"id\":" + orderId).contains("\"status\":\"" + status + "\"");
+            }
+            Map<String, String> removed = nextEvent(events);
+            assertThat(removed).containsEntry("event", "removed");
+            assertThat(removed.get("data")).contains("\"id\":" + orderId).contains("\"status\":\"DELIVERED\"");
+        }
+    }
+
+    private static long rowsReturnedBy(Statistics statistics, String projection) {
+        long rows = 0;
+        for (String query : statistics.getQueries()) {
+            if (query.contains(projection)) {
+                rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, String> nextEvent(Iterator<String> lines) {
+        // Skips heartbeat comments; an event ends at the first blank line
+        Map<String, String> fields = new HashMap<>();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty() && !fields.isEmpty()) {
+                return fields;
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                fields.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+            }
+        }
+        throw new AssertionError("Stream ended before the next event");
+    }
+
+    private int moveTo(Long orderId, String status, String token) {
+        return RestAssured.given()
+                .port(port)
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("status", status))
+                .patch("/api/orders/{id}/status", orderId)
+                .statusCode();
+    }
+
+    private String login(String email, String password) {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword(password);
+        return restTemplate.postForObject(url("/api/auth/login"), login, AuthResponse.class).getToken();
+    }
+
+    private CreateOrderRequest orderRequest(Long tableId, CreateOrderRequest.OrderItemRequest... items) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setTableId(tableId);
+        request.setItems(new ArrayList<>(List.of(items)));
+        return request;
+    }
+
+    private CreateOrderRequest.OrderItemRequest item(Long productId, int quantity) {
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
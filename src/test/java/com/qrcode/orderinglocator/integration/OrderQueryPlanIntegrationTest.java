@@ -0,0 +1,247 @@
+package com.qrcode.orderinglocator.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.repository.OrderRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the order repository queries on PostgreSQL, with the schema built by the Flyway migrations and
+ * a long delivered history plus a few active orders. Each test calls the repository, records the SQL and
+ * parameters Hibernate sent, and explains exactly that, so a changed query or a changed rendering is what gets
+ * checked. Listings must read an index in their sort order: no sequential scan of orders and no sort. Reads by id
+ * must not scan orders or order_items.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("docker")
+@Testcontainers(disabledWithoutDocker = true)
+class OrderQueryPlanIntegrationTest {
+
+    private static final int DELIVERED_ORDERS = 50_000;
+    private static final int ACTIVE_ORDERS = 40;
+    private static final LocalDateTime FIRST_ORDER_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long MIDDLE_ORDER_ID = 1000 + DELIVERED_ORDERS / 2;
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.IN_PREPARATION, Order.OrderStatus.READY);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static final List<Statement> recorded = new CopyOnWriteArrayList<>();
+    private static volatile Thread recordingThread;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // V1 declares the catalog ids SERIAL, which schema validation rejects for the Long ids; not what this checks
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("warmup.enabled", () -> false);
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            QueryExecutionListener recorder = new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+                    // Only the test's own calls, not the order board or the ingestion writer
+                    if (Thread.currentThread() != recordingThread) {
+                        return;
+                    }
+                    for (QueryInfo query : queries) {
+                        recorded.add(new Statement(query.getQuery(),
+                                query.getParametersList().isEmpty() ? List.of() : List.copyOf(query.getParametersList().get(0))));
+                    }
+                }
+            };
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource).listener(recorder).build();
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        // One order a minute on the eight seeded tables, the newest few still active, four lines each
+        jdbcTemplate.execute("INSERT INTO orders (id, customer_id, table_id, total_price, status, created_at, updated_at) "
+                + "SELECT 1000 + g, 3, g % 8 + 1, 20.00, "
+                + "CASE WHEN g <= " + DELIVERED_ORDERS + " THEN 'DELIVERED' "
+                + "ELSE (ARRAY['PENDING', 'IN_PREPARATION', 'READY'])[g % 3 + 1] END, "
+                + "TIMESTAMP '2024-01-01 00:00:00' + g * INTERVAL '1 minute', "
+                + "TIMESTAMP '2024-01-01 00:00:00' + g * INTERVAL '1 minute' "
+                + "FROM generate_series(1, " + (DELIVERED_ORDERS + ACTIVE_ORDERS) + ") g");
+        jdbcTemplate.execute("INSERT INTO order_items (id, order_id, product_id, quantity, price) "
+                + "SELECT 1000 + g * 4 + i, 1000 + g, (g + i) % 10 + 1, 1, 5.00 "
+                + "FROM generate_series(1, " + (DELIVERED_ORDERS + ACTIVE_ORDERS) + ") g, generate_series(0, 3) i");
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    void listing_EachFilterReadsItsIndexNewestFirst() throws Exception {
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdsWithFilters(null, null, PageRequest.of(0, 20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdsWithFilters(7L, null, PageRequest.of(5, 20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdsWithFilters(
+                null, Order.OrderStatus.PENDING, PageRequest.of(0, 20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdsWithFilters(
+                null, Order.OrderStatus.DELIVERED, PageRequest.of(5, 20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdSliceWithFilters(
+                7L, Order.OrderStatus.DELIVERED, PageRequest.ofSize(20))));
+    }
+
+    @Test
+    void cursor_SeeksToItsPositionWithoutSorting() throws Exception {
+        LocalDateTime position = FIRST_ORDER_AT.plusMinutes(DELIVERED_ORDERS / 2);
+
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdSliceBefore(
+                null, null, position, MIDDLE_ORDER_ID, PageRequest.ofSize(20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdSliceBefore(
+                3L, null, position, MIDDLE_ORDER_ID, PageRequest.ofSize(20))));
+        assertIndexOrdered(explainListing(() -> orderRepository.findOrderIdSliceBefore(
+                null, Order.OrderStatus.DELIVERED, position, MIDDLE_ORDER_ID, PageRequest.ofSize(20))));
+    }
+
+    @Test
+    void readsById_TouchOnlyTheRequestedOrders() throws Exception {
+        List<Long> page = List.of(MIDDLE_ORDER_ID, MIDDLE_ORDER_ID + 1, MIDDLE_ORDER_ID + 2);
+
+        explain(() -> orderRepository.findRowById(MIDDLE_ORDER_ID)).forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+        explain(() -> orderRepository.findItemRowsByOrderId(MIDDLE_ORDER_ID)).forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+        explain(() -> orderRepository.findRowsByIdIn(page)).forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+        explain(() -> orderRepository.findItemRowsByOrderIdIn(page)).forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+        explain(() -> orderRepository.findByIdWithDetails(MIDDLE_ORDER_ID)).forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+    }
+
+    @Test
+    void activeOrders_ReadThePartialIndex() throws Exception {
+        List<JsonNode> plans = explain(() -> orderRepository.findByStatusInWithDetails(ACTIVE_STATUSES));
+
+        plans.forEach(OrderQueryPlanIntegrationTest::assertNoSeqScan);
+        assertThat(plans).flatExtracting(OrderQueryPlanIntegrationTest::nodes)
+                .extracting(node -> node.path("Index Name").asText())
+                .contains("idx_orders_active");
+    }
+
+    /**
+     * Plans of the page's id query; the count of a Page has to read every matching row, so it is left out.
+     */
+    private List<JsonNode> explainListing(Runnable query) throws Exception {
+        return explain(query, statement -> !statement.sql().startsWith("select count"));
+    }
+
+    private List<JsonNode> explain(Runnable query) throws Exception {
+        return explain(query, statement -> true);
+    }
+
+    private List<JsonNode> explain(Runnable query, Predicate<Statement> include) throws Exception {
+        recorded.clear();
+        recordingThread = Thread.currentThread();
+        try {
+            query.run();
+        } finally {
+            recordingThread = null;
+        }
+        List<Statement> statements = recorded.stream().filter(include).toList();
+        assertThat(statements).as("statements sent by the repository").isNotEmpty();
+
+        List<JsonNode> plans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (Statement statement : statements) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                    // Bind the values exactly as Hibernate did, so the planner sees what the query saw
+                    for (ParameterSetOperation parameter : statement.parameters()) {
+                        parameter.getMethod().invoke(explain, parameter.getArgs());
+                    }
+                    try (ResultSet result = explain.executeQuery()) {
+                        result.next();
+                        plans.add(objectMapper.readTree(result.getString(1)).get(0).get("Plan"));
+                    }
+                }
+            }
+        }
+        return plans;
+    }
+
+    private static void assertIndexOrdered(List<JsonNode> plans) {
+        for (JsonNode plan : plans) {
+            assertNoSeqScan(plan);
+            assertThat(nodes(plan)).as("sorts in %s", plan)
+                    .noneMatch(node -> node.path("Node Type").asText().endsWith("Sort"));
+        }
+    }
+
+    private static void assertNoSeqScan(JsonNode plan) {
+        // Products, users and tables are a few rows each, where a sequential scan is the right plan
+        assertThat(nodes(plan)).as("sequential scans in %s", plan)
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                        && Set.of("orders", "order_items").contains(node.path("Relation Name").asText()));
+    }
+
+    private static List<JsonNode> nodes(JsonNode plan) {
+        List<JsonNode> nodes = new ArrayList<>();
+        nodes.add(plan);
+        for (JsonNode child : plan.path("Plans")) {
+            nodes.addAll(nodes(child));
+        }
+        return nodes;
+    }
+
+    private record Statement(String sql, List<ParameterSetOperation> parameters) {
+    }
+}
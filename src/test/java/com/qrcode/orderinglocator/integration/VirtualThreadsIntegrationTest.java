@@ -0,0 +1,101 @@
+package com.qrcode.orderinglocator.integration;
+
+import com.qrcode.orderinglocator.config.BoundedDataSource;
+import com.qrcode.orderinglocator.config.VirtualThreadPinningMonitor;
+import com.qrcode.orderinglocator.dto.auth.AuthResponse;
+import com.qrcode.orderinglocator.dto.auth.LoginRequest;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HttpHeaders adminHeaders;
+
+    @BeforeEach
+    void setUp() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("admin@qrlocator.com");
+        login.setPassword("Admin@123");
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(restTemplate.postForObject(url("/api/auth/login"), login, AuthResponse.class).getToken());
+    }
+
+    @Test
+    void virtualThreads_BoundDatabaseConcurrencyAndRecordPinning() {
+        assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+        assertThat(pinningMonitor.isRunning()).isTrue();
+        assertThat(meterRegistry.find("jvm.threads.virtual.pinned").timer()).isNotNull();
+    }
+
+    @Test
+    void createOrder_ManyAtOnce_AllSucceedThroughPoolSizedPermits() {
+        ExecutorService clients = Executors.newFixedThreadPool(20);
+        try {
+            List<CompletableFuture<HttpStatusCode>> responses = IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> restTemplate.exchange(url("/api/orders"),
+                            HttpMethod.POST, new HttpEntity<>(orderRequest(), adminHeaders), OrderResponse.class)
+                            .getStatusCode(), clients))
+                    .toList();
+
+            assertThat(responses).extracting(CompletableFuture::join).containsOnly(HttpStatus.CREATED);
+        } finally {
+            clients.shutdown();
+        }
+        assertThat(meterRegistry.timer("db.connections.permit.wait").count()).isGreaterThanOrEqualTo(40);
+        assertThat(meterRegistry.counter("db.connections.permit.timeouts").count()).isZero();
+    }
+
+    private CreateOrderRequest orderRequest() {
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setTableId(1L);
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
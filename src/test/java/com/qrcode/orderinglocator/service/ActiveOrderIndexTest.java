@@ -0,0 +1,142 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.Order;
+import com.qrcode.orderinglocator.event.OrderCreatedEvent;
+import com.qrcode.orderinglocator.event.OrderStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveOrderIndexTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private ActiveOrderIndex index;
+
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new RecordingListener();
+    }
+
+    @Test
+    void subscribe_LoadsOnceAndSendsMatchingSnapshot() {
+        when(orderService.getActiveOrders()).thenReturn(List.of(
+                order(1L, 1L, Order.OrderStatus.PENDING),
+                order(2L, 2L, Order.OrderStatus.IN_PREPARATION),
+                order(3L, 1L, Order.OrderStatus.READY)));
+
+        index.subscribe(Set.of(Order.OrderStatus.PENDING, Order.OrderStatus.READY), null, listener);
+
+        assertThat(listener.snapshot).extracting(OrderResponse::getId).containsExactly(1L, 3L);
+        assertThat(index.find(Set.of(), 1L)).extracting(OrderResponse::getId).containsExactly(1L, 3L);
+        assertThat(index.find(Set.of(Order.OrderStatus.READY), 2L)).isEmpty();
+        verify(orderService, times(1)).getActiveOrders();
+    }
+
+    @Test
+    void onOrderCreated_BeforeFirstLoad_IsLeftToTheLoad() {
+        index.onOrderCreated(new OrderCreatedEvent(order(1L, 1L, Order.OrderStatus.PENDING)));
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void statusChanges_MoveOrdersBetweenStatusesAndDropDeliveredOnes() {
+        when(orderService.getActiveOrders()).thenReturn(List.of());
+        index.subscribe(null, null, listener);
+
+        index.onOrderCreated(new OrderCreatedEvent(order(1L, 1L, Order.OrderStatus.PENDING)));
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(1L, Order.OrderStatus.IN_PREPARATION, LocalDateTime.now()));
+        assertThat(index.find(Set.of(Order.OrderStatus.PENDING), null)).isEmpty();
+        assertThat(index.find(Set.of(Order.OrderStatus.IN_PREPARATION), null)).extracting(OrderResponse::getId).containsExactly(1L);
+
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(1L, Order.OrderStatus.READY, LocalDateTime.now()));
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(1L, Order.OrderStatus.DELIVERED, LocalDateTime.now()));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.find(null, 1L)).isEmpty();
+        assertThat(listener.changes).extracting(OrderResponse::getStatus).containsExactly(
+                Order.OrderStatus.PENDING, Order.OrderStatus.IN_PREPARATION, Order.OrderStatus.READY, Order.OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void lateEvents_DoNotMoveAnOrderBackwards() {
+        when(orderService.getActiveOrders()).thenReturn(List.of(order(1L, 1L, Order.OrderStatus.READY)));
+        index.subscribe(null, null, listener);
+
+        index.onOrderCreated(new OrderCreatedEvent(order(1L, 1L, Order.OrderStatus.PENDING)));
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(1L, Order.OrderStatus.IN_PREPARATION, LocalDateTime.now()));
+
+        assertThat(index.find(null, null)).extracting(OrderResponse::getStatus).containsExactly(Order.OrderStatus.READY);
+        assertThat(listener.changes).isEmpty();
+    }
+
+    @Test
+    void onOrderStatusChanged_ForAnUnknownOrder_ReadsIt() {
+        when(orderService.getActiveOrders()).thenReturn(List.of());
+        when(orderService.findOrder(7L)).thenReturn(Optional.of(order(7L, 2L, Order.OrderStatus.IN_PREPARATION)));
+        index.subscribe(null, null, listener);
+
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(7L, Order.OrderStatus.IN_PREPARATION, LocalDateTime.now()));
+        index.onOrderStatusChanged(new OrderStatusChangedEvent(8L, Order.OrderStatus.DELIVERED, LocalDateTime.now()));
+
+        assertThat(index.find(null, 2L)).extracting(OrderResponse::getId).containsExactly(7L);
+        verify(orderService, never()).findOrder(8L);
+    }
+
+    @Test
+    void unsubscribe_StopsChanges() {
+        when(orderService.getActiveOrders()).thenReturn(List.of());
+        index.subscribe(null, null, listener);
+        index.unsubscribe(listener);
+
+        index.onOrderCreated(new OrderCreatedEvent(order(1L, 1L, Order.OrderStatus.PENDING)));
+
+        assertThat(listener.changes).isEmpty();
+        verify(orderService, never()).findOrder(any());
+    }
+
+    private static OrderResponse order(Long id, Long tableId, Order.OrderStatus status) {
+        return OrderResponse.builder()
+                .id(id)
+                .tableId(tableId)
+                .status(status)
+                .items(List.of())
+                .build();
+    }
+
+    private static class RecordingListener implements ActiveOrderIndex.Listener {
+
+        private List<OrderResponse> snapshot;
+        private final List<OrderResponse> changes = new ArrayList<>();
+
+        @Override
+        public void onSnapshot(List<OrderResponse> orders) {
+            snapshot = orders;
+        }
+
+        @Override
+        public void onChange(OrderResponse order) {
+            changes.add(order);
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package com.qrcode.orderinglocator.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.cache.MenuPayload;
+import com.qrcode.orderinglocator.cache.MenuPayloadCache;
+import com.qrcode.orderinglocator.cache.MenuSnapshotCache;
+import com.qrcode.orderinglocator.cache.RestaurantSettingsProvider;
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.dto.menu.CategoryProductsResponse;
+import com.qrcode.orderinglocator.dto.menu.MenuChangesResponse;
 import com.qrcode.orderinglocator.dto.menu.MenuResponse;
 import com.qrcode.orderinglocator.entity.Category;
 import com.qrcode.orderinglocator.entity.Product;
 import com.qrcode.orderinglocator.entity.RestaurantTable;
 import com.qrcode.orderinglocator.entity.Settings;
+import com.qrcode.orderinglocator.event.EntityChangedEvent;
 import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
 import com.qrcode.orderinglocator.repository.CategoryRepository;
+import com.qrcode.orderinglocator.repository.ProductRepository;
 import com.qrcode.orderinglocator.repository.RestaurantTableRepository;
 import com.qrcode.orderinglocator.repository.SettingsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +49,10 @@ class MenuServiceTest {
     @Mock
     private SettingsRepository settingsRepository;
 
-    @InjectMocks
+    @Mock
+    private ProductRepository productRepository;
+
+    private MenuSnapshotCache menuSnapshotCache;
     private MenuService menuService;
 
     private RestaurantTable table;
@@ -46,6 +62,10 @@ class MenuServiceTest {
 
     @BeforeEach
     void setUp() {
+        menuSnapshotCache = new MenuSnapshotCache(categoryRepository, new RestaurantSettingsProvider(settingsRepository, event -> {}), new SimpleMeterRegistry());
+        menuService = new MenuService(new TableDirectory(tableRepository), categoryRepository, productRepository, menuSnapshotCache,
+                new MenuPayloadCache(menuSnapshotCache, new ObjectMapper()));
+
         table = RestaurantTable.builder()
                 .id(1L)
                 .number(1)
@@ -74,7 +94,7 @@ class MenuServiceTest {
         category = Category.builder()
                 .id(1L)
                 .name("Test Category")
-                .products(List.of(product))
+                .products(new ArrayList<>(List.of(product)))
                 .build();
 
         product.setCategory(category);
@@ -83,8 +103,8 @@ class MenuServiceTest {
     @Test
     void getMenu_WithValidTableId_ReturnsMenuWithTableInfo() {
         // Arrange
-        when(tableRepository.findById(1L)).thenReturn(Optional.of(table));
-        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
         when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
 
         // Act
@@ -104,15 +124,15 @@ class MenuServiceTest {
         assertThat(response.getCategories().get(0).getProducts()).hasSize(1);
         assertThat(response.getCategories().get(0).getProducts().get(0).getName()).isEqualTo("Test Product");
 
-        verify(tableRepository).findById(1L);
-        verify(settingsRepository).findAll();
+        verify(tableRepository).findAll();
+        verify(settingsRepository).findFirstByOrderByIdAsc();
         verify(categoryRepository).findAllWithProducts();
     }
 
     @Test
     void getMenu_WithNullTableId_ReturnsMenuWithoutTableInfo() {
         // Arrange
-        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
         when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
 
         // Act
@@ -124,31 +144,31 @@ class MenuServiceTest {
         assertThat(response.getRestaurant()).isNotNull();
         assertThat(response.getCategories()).hasSize(1);
 
-        verify(tableRepository, never()).findById(any());
-        verify(settingsRepository).findAll();
+        verify(tableRepository, never()).findAll();
+        verify(settingsRepository).findFirstByOrderByIdAsc();
         verify(categoryRepository).findAllWithProducts();
     }
 
     @Test
     void getMenu_WithInvalidTableId_ThrowsResourceNotFoundException() {
         // Arrange
-        when(tableRepository.findById(999L)).thenReturn(Optional.empty());
+        when(tableRepository.findAll()).thenReturn(List.of(table));
 
         // Act & Assert
         assertThatThrownBy(() -> menuService.getMenu(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Table not found with ID: 999");
 
-        verify(tableRepository).findById(999L);
-        verify(settingsRepository, never()).findAll();
+        verify(tableRepository).findAll();
+        verify(settingsRepository, never()).findFirstByOrderByIdAsc();
         verify(categoryRepository, never()).findAllWithProducts();
     }
 
     @Test
     void getMenu_WithNoSettings_ReturnsMenuWithNullRestaurantInfo() {
         // Arrange
-        when(tableRepository.findById(1L)).thenReturn(Optional.of(table));
-        when(settingsRepository.findAll()).thenReturn(List.of());
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
         when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
 
         // Act
@@ -160,16 +180,16 @@ class MenuServiceTest {
         assertThat(response.getRestaurant()).isNull();
         assertThat(response.getCategories()).hasSize(1);
 
-        verify(tableRepository).findById(1L);
-        verify(settingsRepository).findAll();
+        verify(tableRepository).findAll();
+        verify(settingsRepository).findFirstByOrderByIdAsc();
         verify(categoryRepository).findAllWithProducts();
     }
 
     @Test
     void getMenu_WithEmptyCategories_ReturnsMenuWithEmptyCategories() {
         // Arrange
-        when(tableRepository.findById(1L)).thenReturn(Optional.of(table));
-        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
         when(categoryRepository.findAllWithProducts()).thenReturn(List.of());
 
         // Act
@@ -181,8 +201,212 @@ class MenuServiceTest {
         assertThat(response.getRestaurant()).isNotNull();
         assertThat(response.getCategories()).isEmpty();
 
-        verify(tableRepository).findById(1L);
-        verify(settingsRepository).findAll();
+        verify(tableRepository).findAll();
+        verify(settingsRepository).findFirstByOrderByIdAsc();
         verify(categoryRepository).findAllWithProducts();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMenu_CalledRepeatedly_ServesSnapshotWithoutReloadingCatalog() {
+        // Arrange
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+
+        // Act
+        MenuResponse first = menuService.getMenu(1L);
+        MenuResponse second = menuService.getMenu(null);
+
+        // Assert
+        assertThat(second.getTable()).isNull();
+        assertThat(second.getCategories()).isSameAs(first.getCategories());
+        assertThat(second.getRestaurant()).isSameAs(first.getRestaurant());
+
+        verify(settingsRepository, times(1)).findFirstByOrderByIdAsc();
+        verify(categoryRepository, times(1)).findAllWithProducts();
+    }
+
+    @Test
+    void getMenuPayload_WithValidTableId_ReturnsSerializedMenuWithTable() {
+        // Arrange
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+
+        // Act
+        MenuPayload payload = menuService.getMenuPayload(1L);
+
+        // Assert
+        String json = new String(payload.json(), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"table\":{\"id\":1,\"number\":1}");
+        assertThat(json).contains("\"name\":\"Test Product\"");
+        assertThat(payload.etag()).startsWith("\"menu-1-");
+    }
+
+    @Test
+    void getMenuPayload_WithInvalidTableId_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(tableRepository.findAll()).thenReturn(List.of(table));
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuService.getMenuPayload(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Table not found with ID: 999");
+
+        verify(categoryRepository, never()).findAllWithProducts();
+    }
+
+    @Test
+    void getMenuChanges_WithoutVersion_ReturnsFullSnapshot() {
+        // Arrange
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+
+        // Act
+        MenuChangesResponse changes = menuService.getMenuChanges(null, null);
+
+        // Assert
+        assertThat(changes.isFullSnapshot()).isTrue();
+        assertThat(changes.getVersion()).isEqualTo(1L);
+        assertThat(changes.getEpoch()).isEqualTo(menuSnapshotCache.epoch());
+        assertThat(changes.getRestaurant().getName()).isEqualTo("Test Restaurant");
+        assertThat(changes.getCategories()).extracting(MenuChangesResponse.CategoryChange::getName)
+                .containsExactly("Test Category");
+        assertThat(changes.getProducts()).extracting(MenuChangesResponse.ProductChange::getCategoryId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void getMenuChanges_WithCurrentVersion_ReturnsEmptyDelta() {
+        // Arrange
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+        MenuChangesResponse held = menuService.getMenuChanges(null, null);
+
+        // Act
+        MenuChangesResponse changes = menuService.getMenuChanges(held.getEpoch(), held.getVersion());
+
+        // Assert
+        assertThat(changes.isFullSnapshot()).isFalse();
+        assertThat(changes.getRestaurant()).isNull();
+        assertThat(changes.getCategories()).isEmpty();
+        assertThat(changes.getProducts()).isEmpty();
+        assertThat(changes.getRemovedProductIds()).isEmpty();
+    }
+
+    @Test
+    void getMenuChanges_AfterEdits_ReturnsOnlyChangedAndRemovedItems() {
+        // Arrange
+        Product sideDish = Product.builder()
+                .id(2L)
+                .name("Fries")
+                .price(new BigDecimal("3.50"))
+                .category(category)
+                .build();
+        category.getProducts().add(sideDish);
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+        MenuChangesResponse held = menuService.getMenuChanges(null, null);
+
+        product.setPrice(new BigDecimal("12.50"));
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Product.class, 1L));
+        menuService.getMenu(null);
+        category.getProducts().remove(sideDish);
+        menuSnapshotCache.onEntityChanged(new EntityChangedEvent(Product.class, 2L));
+
+        // Act
+        MenuChangesResponse changes = menuService.getMenuChanges(held.getEpoch(), held.getVersion());
+
+        // Assert
+        assertThat(changes.isFullSnapshot()).isFalse();
+        assertThat(changes.getVersion()).isEqualTo(held.getVersion() + 2);
+        assertThat(changes.getCategories()).isEmpty();
+        assertThat(changes.getProducts()).hasSize(1);
+        assertThat(changes.getProducts().get(0).getPrice()).isEqualByComparingTo("12.50");
+        assertThat(changes.getRemovedProductIds()).containsExactly(2L);
+    }
+
+    @Test
+    void getMenuChanges_WithUnknownVersion_FallsBackToFullSnapshot() {
+        // Arrange
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+
+        // Act
+        MenuChangesResponse changes = menuService.getMenuChanges(menuSnapshotCache.epoch(), 42L);
+
+        // Assert
+        assertThat(changes.isFullSnapshot()).isTrue();
+        assertThat(changes.getSinceVersion()).isEqualTo(42L);
+        assertThat(changes.getProducts()).hasSize(1);
+    }
+
+    @Test
+    void getMenuChanges_WithSameVersionFromAnotherEpoch_ReturnsFullSnapshot() {
+        // Arrange
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(settings));
+        when(categoryRepository.findAllWithProducts()).thenReturn(List.of(category));
+        MenuChangesResponse held = menuService.getMenuChanges(null, null);
+
+        // A restart, or another node, counts from version 1 again over a different menu
+        product.setPrice(new BigDecimal("12.50"));
+        MenuSnapshotCache restarted = new MenuSnapshotCache(categoryRepository,
+                new RestaurantSettingsProvider(settingsRepository, event -> {}), new SimpleMeterRegistry());
+        MenuService restartedService = new MenuService(new TableDirectory(tableRepository), categoryRepository,
+                productRepository, restarted, new MenuPayloadCache(restarted, new ObjectMapper()));
+
+        // Act
+        MenuChangesResponse changes = restartedService.getMenuChanges(held.getEpoch(), held.getVersion());
+
+        // Assert
+        assertThat(changes.getVersion()).isEqualTo(held.getVersion());
+        assertThat(changes.getEpoch()).isNotEqualTo(held.getEpoch());
+        assertThat(changes.isFullSnapshot()).isTrue();
+        assertThat(changes.getProducts()).extracting(MenuChangesResponse.ProductChange::getPrice)
+                .containsExactly(new BigDecimal("12.50"));
+    }
+
+    @Test
+    void getCategoryProducts_WithMoreRows_ReturnsPageAndCursor() {
+        // Arrange
+        List<MenuResponse.ProductResponse> rows = List.of(
+                new MenuResponse.ProductResponse(4L, "A", null, null, BigDecimal.ONE),
+                new MenuResponse.ProductResponse(7L, "B", null, null, BigDecimal.ONE),
+                new MenuResponse.ProductResponse(9L, "C", null, null, BigDecimal.ONE));
+        when(productRepository.findMenuProductsAfter(1L, 3L, Limit.of(3))).thenReturn(rows);
+
+        // Act
+        CategoryProductsResponse response = menuService.getCategoryProducts(1L, 3L, 2);
+
+        // Assert
+        assertThat(response.getProducts()).extracting(MenuResponse.ProductResponse::getId).containsExactly(4L, 7L);
+        assertThat(response.getNextCursor()).isEqualTo(7L);
+        verify(categoryRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getCategoryProducts_LastPage_ReturnsNullCursor() {
+        // Arrange
+        when(productRepository.findMenuProductsAfter(1L, 0L, Limit.of(21)))
+                .thenReturn(List.of(new MenuResponse.ProductResponse(4L, "A", null, null, BigDecimal.ONE)));
+
+        // Act
+        CategoryProductsResponse response = menuService.getCategoryProducts(1L, null, 20);
+
+        // Assert
+        assertThat(response.getProducts()).hasSize(1);
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getCategoryProducts_WithUnknownCategory_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(productRepository.findMenuProductsAfter(999L, 0L, Limit.of(21))).thenReturn(List.of());
+        when(categoryRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuService.getCategoryProducts(999L, null, 20))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Category not found with ID: 999");
+    }
+}
@@ -0,0 +1,156 @@
+package com.qrcode.orderinglocator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.entity.IdempotencyRecord;
+import com.qrcode.orderinglocator.entity.User;
+import com.qrcode.orderinglocator.exception.IdempotencyKeyReusedException;
+import com.qrcode.orderinglocator.repository.IdempotencyRecordRepository;
+import com.qrcode.orderinglocator.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    @Mock
+    private OrderIngestionService orderIngestionService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderIdempotencyService idempotencyService;
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new OrderIdempotencyService(orderIngestionService, idempotencyRecordRepository,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 100, Duration.ofHours(24));
+
+        request = new CreateOrderRequest();
+        request.setTableId(1L);
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setProductId(1L);
+        item.setQuantity(2);
+        request.setItems(List.of(item));
+
+        CustomUserDetails userDetails = CustomUserDetails.fromUser(User.builder()
+                .id(1L)
+                .email("john@example.com")
+                .role(User.Role.CUSTOMER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createOrder_StoredKeyWithinTtl_IsStillHeldToItsOrder() {
+        // Arrange
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(stored(LocalDateTime.now().minusHours(23))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-1", request))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verifyNoInteractions(orderIngestionService);
+    }
+
+    @Test
+    void createOrder_StoredKeyPastTtl_ReplacesItWithTheNewOrder() {
+        // Arrange
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(stored(LocalDateTime.now().minusHours(25))));
+        createsOrder(8L);
+
+        // Act
+        OrderIdempotencyService.Result result = idempotencyService.createOrder("key-1", request);
+
+        // Assert
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.response().getId()).isEqualTo(8L);
+        verify(idempotencyRecordRepository).deleteAllByIdInBatch(List.of(7L));
+        verify(idempotencyRecordRepository).saveAndFlush(argThat(record -> record.getOrderId().equals(8L)));
+    }
+
+    @Test
+    void createOrder_KeyLoadedFromTheTable_IsHeldOnlyForWhatIsLeftOfItsTtl() throws Exception {
+        // Arrange
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(stored(LocalDateTime.now().minusHours(24).plus(Duration.ofMillis(500)))));
+        createsOrder(8L);
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-1", request))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        Thread.sleep(600);
+
+        // Act
+        OrderIdempotencyService.Result result = idempotencyService.createOrder("key-1", request);
+
+        // Assert
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.response().getId()).isEqualTo(8L);
+    }
+
+    @Test
+    void purgeExpiredKeys_DeletesRowsOlderThanTheTtl() {
+        // Arrange
+        when(idempotencyRecordRepository.deleteCreatedBefore(any())).thenReturn(3);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+
+        // Act
+        idempotencyService.purgeExpiredKeys();
+
+        // Assert
+        verify(idempotencyRecordRepository).deleteCreatedBefore(argThat(before ->
+                !before.isBefore(cutoff) && before.isBefore(cutoff.plusMinutes(1))));
+    }
+
+    private void createsOrder(long orderId) {
+        when(orderIngestionService.createOrder(eq(request), any())).thenAnswer(invocation -> {
+            OrderResponse created = OrderResponse.builder().id(orderId).build();
+            invocation.<Consumer<OrderResponse>>getArgument(1).accept(created);
+            return created;
+        });
+    }
+
+    // Stored for a different order than the request, so a live key is rejected as reused
+    private static IdempotencyRecord stored(LocalDateTime createdAt) {
+        return IdempotencyRecord.builder()
+                .id(7L)
+                .userId(1L)
+                .idempotencyKey("key-1")
+                .requestHash("0".repeat(64))
+                .orderId(5L)
+                .response("{\"id\":5}")
+                .createdAt(createdAt)
+                .build();
+    }
+}
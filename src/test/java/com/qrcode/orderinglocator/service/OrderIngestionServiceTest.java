@@ -0,0 +1,261 @@
+package com.qrcode.orderinglocator.service;
+
+import com.qrcode.orderinglocator.config.OrderIngestionProperties;
+import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.exception.OrderIngestionBusyException;
+import com.qrcode.orderinglocator.exception.OrderWriteInProgressException;
+import com.qrcode.orderinglocator.repository.OrderIdAllocator;
+import com.qrcode.orderinglocator.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderIdAllocator orderIdAllocator;
+
+    @Mock
+    private AcceptedOrderRegistry acceptedOrderRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(5);
+    private OrderIngestionProperties properties;
+    private OrderIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderIngestionProperties();
+        properties.setMaxBatchSize(10);
+        properties.setMaxLinger(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestionService.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void createOrder_WithGroupCommitOff_WritesInOwnTransaction() {
+        ingestionService = new OrderIngestionService(orderService, orderIdAllocator, acceptedOrderRegistry, properties, transactionManager, new SimpleMeterRegistry());
+        ingestionService.start();
+        CreateOrderRequest request = request(1L);
+        when(orderService.createOrder(request)).thenReturn(OrderResponse.builder().id(1L).build());
+
+        OrderResponse response = ingestionService.createOrder(request);
+
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(ingestionService.isRunning()).isFalse();
+        verify(orderService, never()).persistOrders(anyList());
+    }
+
+    @Test
+    void createOrder_ConcurrentCallers_ShareOneTransactionAndGetTheirOwnResponse() throws Exception {
+        startGroupCommit();
+        List<List<OrderService.PreparedOrder>> batches = new CopyOnWriteArrayList<>();
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderService.PreparedOrder> batch = invocation.getArgument(0);
+            batches.add(batch);
+            return batch.stream().map(order -> OrderResponse.builder().tableId(order.tableId()).build()).toList();
+        });
+
+        List<CompletableFuture<OrderResponse>> responses = new ArrayList<>();
+        for (long tableId = 1; tableId <= 5; tableId++) {
+            CreateOrderRequest request = request(tableId);
+            responses.add(CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request), callers));
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i).get(5, TimeUnit.SECONDS).getTableId()).isEqualTo(i + 1L);
+        }
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(batches.size()).isLessThan(5);
+    }
+
+    @Test
+    void createOrder_WhenBatchFails_RetriesEachOrderAlone() throws Exception {
+        properties.setMaxBatchSize(2);
+        startGroupCommit();
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderService.PreparedOrder> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(order -> order.tableId() == 2L)) {
+                throw new IllegalStateException("table 2 is broken");
+            }
+            return batch.stream().map(order -> OrderResponse.builder().tableId(order.tableId()).build()).toList();
+        });
+
+        CompletableFuture<OrderResponse> good = CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request(1L)), callers);
+        CompletableFuture<OrderResponse> bad = CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request(2L)), callers);
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getTableId()).isEqualTo(1L);
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("table 2 is broken");
+    }
+
+    @Test
+    void createOrder_WithAlongside_RunsItInTheBatchTransactionAndFailsOnlyItsOwnOrder() throws Exception {
+        startGroupCommit();
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderService.PreparedOrder> batch = invocation.getArgument(0);
+            return batch.stream().map(order -> OrderResponse.builder().tableId(order.tableId()).build()).toList();
+        });
+        List<Long> recorded = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<OrderResponse> kept = CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request(1L),
+                created -> recorded.add(created.getTableId())), callers);
+        CompletableFuture<OrderResponse> refused = CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request(2L),
+                created -> {
+                    throw new IllegalStateException("key already taken");
+                }), callers);
+
+        assertThat(kept.get(5, TimeUnit.SECONDS).getTableId()).isEqualTo(1L);
+        assertThatThrownBy(() -> refused.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("key already taken");
+        assertThat(recorded).contains(1L);
+        verify(transactionManager, atLeastOnce()).commit(any());
+        verify(transactionManager, atLeastOnce()).rollback(any());
+    }
+
+    @Test
+    void createOrder_TimedOutWhileBeingWritten_ReportsItInProgressInsteadOfBusy() throws Exception {
+        properties.setWriteTimeout(Duration.ofMillis(200));
+        startGroupCommit();
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderIdAllocator.next()).thenReturn(61L);
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(OrderResponse.builder().build());
+        });
+
+        try {
+            assertThatThrownBy(() -> ingestionService.createOrder(request(1L)))
+                    .isInstanceOf(OrderWriteInProgressException.class)
+                    .hasMessageContaining("Order 61 is still being written")
+                    .extracting("orderId").isEqualTo(61L);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void createOrder_TimedOutWhileStillQueued_IsWithdrawnAndBusy() throws Exception {
+        properties.setMaxBatchSize(1);
+        properties.setWriteTimeout(Duration.ofMillis(200));
+        startGroupCommit();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return List.of(OrderResponse.builder().build());
+        });
+
+        try {
+            callers.submit(() -> ingestionService.createOrder(request(1L)));
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> ingestionService.createOrder(request(2L)))
+                    .isInstanceOf(OrderIngestionBusyException.class)
+                    .hasMessageContaining("please retry");
+        } finally {
+            release.countDown();
+        }
+        verify(orderService, timeout(5000)).persistOrders(anyList());
+        verify(orderService, never()).persistOrders(argThat(batch -> batch.get(0).tableId() == 2L));
+    }
+
+    @Test
+    void createOrder_WhenWriterDiesOfAnError_SettlesItsCallersAndLaterOrdersBypassIt() throws Exception {
+        startGroupCommit();
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderService.persistOrders(anyList())).thenThrow(new StackOverflowError("writer blew up"));
+        CreateOrderRequest later = request(2L);
+        when(orderService.createOrder(later)).thenReturn(OrderResponse.builder().tableId(2L).build());
+
+        CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() -> ingestionService.createOrder(request(1L)), callers);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(StackOverflowError.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ingestionService.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(ingestionService.isRunning()).isFalse();
+        assertThat(ingestionService.createOrder(later).getTableId()).isEqualTo(2L);
+    }
+
+    @Test
+    void acceptOrder_ReturnsAcceptedOrderAndSettlesRegistryAfterWrite() {
+        properties.setAsyncAccept(true);
+        ingestionService = new OrderIngestionService(orderService, orderIdAllocator, acceptedOrderRegistry, properties, transactionManager, new SimpleMeterRegistry());
+        ingestionService.start();
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+        when(orderIdAllocator.next()).thenReturn(51L);
+        when(orderService.describeAccepted(any())).thenAnswer(invocation -> {
+            OrderService.PreparedOrder order = invocation.getArgument(0);
+            return OrderResponse.builder().id(order.orderId()).persistenceState(OrderResponse.PersistenceState.ACCEPTED).build();
+        });
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> List.of(OrderResponse.builder().id(51L).build()));
+
+        OrderResponse accepted = ingestionService.acceptOrder(request(1L));
+
+        assertThat(accepted.getId()).isEqualTo(51L);
+        assertThat(accepted.getPersistenceState()).isEqualTo(OrderResponse.PersistenceState.ACCEPTED);
+        verify(acceptedOrderRegistry).accepted(accepted);
+        verify(acceptedOrderRegistry, timeout(5000)).persisted(51L);
+        verify(orderService).persistOrders(argThat(batch -> batch.get(0).orderId() == 51L));
+    }
+
+    private void startGroupCommit() {
+        properties.setGroupCommit(true);
+        ingestionService = new OrderIngestionService(orderService, orderIdAllocator, acceptedOrderRegistry, properties, transactionManager, new SimpleMeterRegistry());
+        ingestionService.start();
+    }
+
+    private static CreateOrderRequest request(Long tableId) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setTableId(tableId);
+        request.setItems(List.of());
+        return request;
+    }
+
+    private static OrderService.PreparedOrder prepared(CreateOrderRequest request) {
+        return new OrderService.PreparedOrder(null, null, request.getTableId(), List.of(), Money.ZERO);
+    }
+}
@@ -1,29 +1,48 @@
 package com.qrcode.orderinglocator.service;
 
+import com.qrcode.orderinglocator.cache.PriceCatalog;
+import com.qrcode.orderinglocator.cache.TableDirectory;
+import com.qrcode.orderinglocator.cache.TableEntry;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusRequest;
+import com.qrcode.orderinglocator.dto.order.BulkUpdateOrderStatusResponse;
 import com.qrcode.orderinglocator.dto.order.CreateOrderRequest;
+import com.qrcode.orderinglocator.dto.order.OrderCursorPage;
+import com.qrcode.orderinglocator.dto.order.OrderItemRow;
 import com.qrcode.orderinglocator.dto.order.OrderResponse;
+import com.qrcode.orderinglocator.dto.order.OrderRow;
 import com.qrcode.orderinglocator.dto.order.UpdateOrderStatusRequest;
 import com.qrcode.orderinglocator.entity.*;
+import com.qrcode.orderinglocator.event.OrderCreatedEvent;
+import com.qrcode.orderinglocator.event.OrderStatusChangedEvent;
+import com.qrcode.orderinglocator.exception.InvalidCursorException;
 import com.qrcode.orderinglocator.exception.InvalidOrderStatusTransitionException;
+import com.qrcode.orderinglocator.exception.OrderStatusConflictException;
 import com.qrcode.orderinglocator.exception.ResourceNotFoundException;
 import com.qrcode.orderinglocator.repository.*;
 import com.qrcode.orderinglocator.security.CustomUserDetails;
+import com.qrcode.orderinglocator.util.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -48,6 +67,18 @@ class OrderServiceTest {
     @Mock
     private OrderStatusChangeRepository orderStatusChangeRepository;
 
+    @Mock
+    private TableDirectory tableDirectory;
+
+    @Mock
+    private PriceCatalog priceCatalog;
+
+    @Mock
+    private AcceptedOrderRegistry acceptedOrderRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -113,8 +144,10 @@ class OrderServiceTest {
     void createOrder_Success() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(tableRepository.findById(1L)).thenReturn(Optional.of(table));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(tableDirectory.findById(1L)).thenReturn(Optional.of(TableEntry.from(table)));
+        when(tableRepository.getReferenceById(1L)).thenReturn(table);
+        when(priceCatalog.resolve(List.of(1L))).thenReturn(Map.of(1L, new PriceCatalog.ProductPrice(1L, "Test Product", Money.of(new BigDecimal("10.99")))));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         when(orderStatusChangeRepository.save(any(OrderStatusChange.class))).thenReturn(new OrderStatusChange());
 
@@ -126,15 +159,19 @@ class OrderServiceTest {
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getCustomerId()).isEqualTo(1L);
         assertThat(response.getTableId()).isEqualTo(1L);
+        assertThat(response.getTableNumber()).isEqualTo(1);
         assertThat(response.getTotalPrice()).isEqualTo(new BigDecimal("21.98"));
         assertThat(response.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
         assertThat(response.getItems()).hasSize(1);
 
         verify(userRepository).findById(1L);
-        verify(tableRepository).findById(1L);
-        verify(productRepository).findById(1L);
+        verify(tableDirectory, atLeastOnce()).findById(1L);
+        verify(tableRepository, never()).findById(any());
+        verify(priceCatalog).resolve(List.of(1L));
+        verify(productRepository, never()).findById(any());
         verify(orderRepository).save(any(Order.class));
         verify(orderStatusChangeRepository).save(any(OrderStatusChange.class));
+        verify(eventPublisher).publishEvent(new OrderCreatedEvent(response));
     }
 
     @Test
@@ -152,12 +189,28 @@ class OrderServiceTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void createOrder_WithInvalidTable_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(tableDirectory.findById(999L)).thenReturn(Optional.empty());
+        createOrderRequest.setTableId(999L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Table not found with ID: 999");
+
+        verify(tableRepository, never()).getReferenceById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void createOrder_WithInvalidProduct_ThrowsResourceNotFoundException() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(tableRepository.findById(1L)).thenReturn(Optional.of(table));
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(tableDirectory.findById(1L)).thenReturn(Optional.of(TableEntry.from(table)));
+        when(priceCatalog.resolve(List.of(999L))).thenReturn(Map.of());
         
         createOrderRequest.getItems().get(0).setProductId(999L);
 
@@ -166,14 +219,44 @@ class OrderServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Product not found with ID: 999");
 
-        verify(productRepository).findById(999L);
+        verify(priceCatalog).resolve(List.of(999L));
+        verify(tableRepository, never()).getReferenceById(any());
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void prepareOrders_ResolvesCustomersAndProductsOnceAndRejectsInvalidOrdersInPlace() {
+        // Arrange
+        CreateOrderRequest unknownCustomer = new CreateOrderRequest();
+        unknownCustomer.setCustomerId(999L);
+        unknownCustomer.setTableId(1L);
+        unknownCustomer.setItems(createOrderRequest.getItems());
+
+        when(userRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(tableDirectory.findById(1L)).thenReturn(Optional.of(TableEntry.from(table)));
+        when(priceCatalog.resolve(List.of(1L))).thenReturn(Map.of(1L, new PriceCatalog.ProductPrice(1L, "Test Product", Money.of(new BigDecimal("10.99")))));
+
+        // Act
+        List<OrderService.Preparation> preparations = orderService.prepareOrders(
+                List.of(createOrderRequest, unknownCustomer, createOrderRequest));
+
+        // Assert
+        assertThat(preparations).hasSize(3);
+        assertThat(preparations.get(0).order().totalPrice()).isEqualTo(Money.ofMinor(2198));
+        assertThat(preparations.get(1).error()).hasMessageContaining("Customer not found with ID: 999");
+        assertThat(preparations.get(2).order().customer()).isEqualTo(customer);
+
+        verify(userRepository).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(priceCatalog).resolve(List.of(1L));
+    }
+
     @Test
     void getOrderById_Success_AsCustomer() {
         // Arrange
-        when(orderRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findRowById(1L)).thenReturn(Optional.of(row(1L, 1L)));
+        when(orderRepository.findItemRowsByOrderId(1L)).thenReturn(List.of(
+                new OrderItemRow(1L, 1L, 1L, "Test Product", 2, new BigDecimal("10.99"))));
         
         // Set up security context
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
@@ -187,28 +270,38 @@ class OrderServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getCustomerId()).isEqualTo(1L);
+        assertThat(response.getTableNumber()).isEqualTo(1);
+        assertThat(response.getItems()).extracting(OrderResponse.OrderItemResponse::getProductName).containsExactly("Test Product");
 
-        verify(orderRepository).findByIdWithDetails(1L);
+        verify(orderRepository, never()).findByIdWithDetails(any());
     }
 
     @Test
-    void getOrderById_CustomerAccessingOtherOrder_ThrowsAccessDeniedException() {
+    void getOrderById_WhileAccepted_ReturnsAcceptedOrderWithoutQuery() {
         // Arrange
-        User otherCustomer = User.builder()
-                .id(2L)
-                .name("Jane Doe")
-                .email("jane@example.com")
-                .role(User.Role.CUSTOMER)
-                .build();
-        
-        Order otherOrder = Order.builder()
-                .id(2L)
-                .customer(otherCustomer)
-                .status(Order.OrderStatus.PENDING)
-                .orderItems(List.of())
+        OrderResponse accepted = OrderResponse.builder()
+                .id(51L)
+                .customerId(1L)
+                .persistenceState(OrderResponse.PersistenceState.ACCEPTED)
                 .build();
+        when(acceptedOrderRegistry.find(51L)).thenReturn(Optional.of(accepted));
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        // Act
+        OrderResponse response = orderService.getOrderById(51L);
+
+        // Assert
+        assertThat(response.getPersistenceState()).isEqualTo(OrderResponse.PersistenceState.ACCEPTED);
+        verifyNoInteractions(orderRepository);
+    }
 
-        when(orderRepository.findByIdWithDetails(2L)).thenReturn(Optional.of(otherOrder));
+    @Test
+    void getOrderById_CustomerAccessingOtherOrder_ThrowsAccessDeniedException() {
+        // Arrange
+        when(orderRepository.findRowById(2L)).thenReturn(Optional.of(row(2L, 2L)));
         
         // Set up security context with different user
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
@@ -220,14 +313,18 @@ class OrderServiceTest {
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("You can only view your own orders");
 
-        verify(orderRepository).findByIdWithDetails(2L);
+        verify(orderRepository, never()).findItemRowsByOrderId(any());
     }
 
     @Test
     void updateOrderStatus_ValidTransition_Success() {
         // Arrange
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.transitionStatus(eq(1L), eq(Order.OrderStatus.PENDING), eq(Order.OrderStatus.IN_PREPARATION), any()))
+                .thenAnswer(invocation -> {
+                    order.setStatus(Order.OrderStatus.IN_PREPARATION);
+                    return 1;
+                });
+        when(orderRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(order));
         when(orderStatusChangeRepository.save(any(OrderStatusChange.class))).thenReturn(new OrderStatusChange());
 
         UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
@@ -240,16 +337,16 @@ class OrderServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(Order.OrderStatus.IN_PREPARATION);
 
-        verify(orderRepository).findById(1L);
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
         verify(orderStatusChangeRepository).save(any(OrderStatusChange.class));
+        verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(1L, Order.OrderStatus.IN_PREPARATION, null));
     }
 
     @Test
     void updateOrderStatus_InvalidTransition_ThrowsException() {
         // Arrange
-        order.setStatus(Order.OrderStatus.DELIVERED);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(Order.OrderStatus.DELIVERED));
 
         UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
         request.setStatus(Order.OrderStatus.PENDING);
@@ -259,38 +356,179 @@ class OrderServiceTest {
                 .isInstanceOf(InvalidOrderStatusTransitionException.class)
                 .hasMessageContaining("Invalid status transition from DELIVERED to PENDING");
 
-        verify(orderRepository).findById(1L);
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        verifyNoInteractions(orderStatusChangeRepository, eventPublisher);
+    }
+
+    @Test
+    void updateOrderStatus_SkippingAStep_ThrowsInvalidTransition() {
+        // Arrange
+        when(orderRepository.transitionStatus(eq(1L), eq(Order.OrderStatus.IN_PREPARATION), eq(Order.OrderStatus.READY), any()))
+                .thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(Order.OrderStatus.PENDING));
+
+        UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
+        request.setStatus(Order.OrderStatus.READY);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, request))
+                .isInstanceOf(InvalidOrderStatusTransitionException.class)
+                .hasMessageContaining("Invalid status transition from PENDING to READY");
+    }
+
+    @Test
+    void updateOrderStatus_AlreadyMovedByAnotherRequest_ThrowsConflict() {
+        // Arrange
+        when(orderRepository.transitionStatus(eq(1L), eq(Order.OrderStatus.PENDING), eq(Order.OrderStatus.IN_PREPARATION), any()))
+                .thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(Order.OrderStatus.IN_PREPARATION));
+
+        UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
+        request.setStatus(Order.OrderStatus.IN_PREPARATION);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, request))
+                .isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("already IN_PREPARATION");
+
+        verifyNoInteractions(orderStatusChangeRepository);
+    }
+
+    @Test
+    void updateOrderStatuses_MixedTransitions_MovesValidOnesPerTargetStatusAndReportsEachOrder() {
+        // Arrange
+        Order pending = Order.builder().id(1L).status(Order.OrderStatus.PENDING).build();
+        Order cooking = Order.builder().id(2L).status(Order.OrderStatus.IN_PREPARATION).build();
+        Order ready = Order.builder().id(3L).status(Order.OrderStatus.READY).build();
+        when(orderRepository.findAllByIdForUpdate(Set.of(1L, 2L, 3L, 99L))).thenReturn(List.of(pending, cooking, ready));
+        when(orderRepository.transitionStatuses(eq(List.of(2L)), eq(Order.OrderStatus.IN_PREPARATION), eq(Order.OrderStatus.READY), any()))
+                .thenReturn(1);
+        when(orderRepository.transitionStatuses(eq(List.of(1L)), eq(Order.OrderStatus.PENDING), eq(Order.OrderStatus.IN_PREPARATION), any()))
+                .thenReturn(1);
+
+        // Act
+        BulkUpdateOrderStatusResponse response = orderService.updateOrderStatuses(List.of(
+                new BulkUpdateOrderStatusRequest.Transition(2L, Order.OrderStatus.READY),
+                new BulkUpdateOrderStatusRequest.Transition(3L, Order.OrderStatus.READY),
+                new BulkUpdateOrderStatusRequest.Transition(99L, Order.OrderStatus.READY),
+                new BulkUpdateOrderStatusRequest.Transition(1L, Order.OrderStatus.IN_PREPARATION),
+                new BulkUpdateOrderStatusRequest.Transition(1L, Order.OrderStatus.IN_PREPARATION)));
+
+        // Assert
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BulkUpdateOrderStatusResponse.TransitionResult::getStatus)
+                .containsExactly(200, 409, 404, 200, 400);
+        assertThat(response.getResults().get(0).getOrderStatus()).isEqualTo(Order.OrderStatus.READY);
+        assertThat(response.getResults().get(1).getOrderStatus()).isEqualTo(Order.OrderStatus.READY);
+        verify(orderStatusChangeRepository).saveAll(argThat((List<OrderStatusChange> changes) -> changes.size() == 2));
         verify(orderRepository, never()).save(any());
+        verify(eventPublisher, times(2)).publishEvent(any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    void updateOrderStatus_UnknownOrder_ThrowsNotFound() {
+        // Arrange
+        when(orderRepository.transitionStatus(eq(99L), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findStatusById(99L)).thenReturn(Optional.empty());
+
+        UpdateOrderStatusRequest request = new UpdateOrderStatusRequest();
+        request.setStatus(Order.OrderStatus.IN_PREPARATION);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.updateOrderStatus(99L, request))
+                .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
-    void getOrders_WithFilters_ReturnsPagedResults() {
+    void getOrders_WithFilters_PagesOverIdsThenLoadsThatPageInIdOrder() {
         // Arrange
-        Page<Order> orderPage = new PageImpl<>(List.of(order));
-        when(orderRepository.findOrdersWithFilters(eq(1L), eq(Order.OrderStatus.PENDING), any(Pageable.class)))
-                .thenReturn(orderPage);
+        Pageable pageable = PageRequest.of(1, 2);
+        when(orderRepository.findOrderIdsWithFilters(1L, Order.OrderStatus.PENDING, pageable))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L), pageable, 7));
+        when(orderRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(row(2L, null), row(1L, 1L)));
+        when(orderRepository.findItemRowsByOrderIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new OrderItemRow(1L, 10L, 1L, "Test Product", 2, new BigDecimal("10.99")),
+                new OrderItemRow(2L, 11L, 1L, "Test Product", 1, new BigDecimal("10.99")),
+                new OrderItemRow(1L, 12L, 1L, "Test Product", 1, new BigDecimal("10.99"))));
 
         // Act
-        Page<OrderResponse> response = orderService.getOrders(1L, Order.OrderStatus.PENDING, Pageable.unpaged());
+        Page<OrderResponse> response = orderService.getOrders(1L, Order.OrderStatus.PENDING, pageable);
 
         // Assert
-        assertThat(response).isNotNull();
-        assertThat(response.getContent()).hasSize(1);
-        assertThat(response.getContent().get(0).getId()).isEqualTo(1L);
+        assertThat(response.getContent()).extracting(OrderResponse::getId).containsExactly(1L, 2L);
+        assertThat(response.getContent().get(0).getItems()).extracting(OrderResponse.OrderItemResponse::getId).containsExactly(10L, 12L);
+        assertThat(response.getContent().get(1).getItems()).extracting(OrderResponse.OrderItemResponse::getId).containsExactly(11L);
+        assertThat(response.getTotalElements()).isEqualTo(7);
+        assertThat(response.getNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrders_PastTheLastPage_SkipsTheDetailsQuery() {
+        // Arrange
+        when(orderRepository.findOrderIdsWithFilters(null, null, PageRequest.of(5, 20)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(5, 20), 3));
+
+        // Act
+        Page<OrderResponse> response = orderService.getOrders(null, null, PageRequest.of(5, 20));
+
+        // Assert
+        assertThat(response.getContent()).isEmpty();
+        assertThat(response.getTotalElements()).isEqualTo(3);
+
+        verify(orderRepository, never()).findRowsByIdIn(any());
+    }
 
-        verify(orderRepository).findOrdersWithFilters(eq(1L), eq(Order.OrderStatus.PENDING), any(Pageable.class));
+    @Test
+    void getOrdersBefore_ContinuesBelowTheLastOrderOfThePreviousPage() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+        when(orderRepository.findOrderIdSliceWithFilters(1L, null, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(1L), PageRequest.ofSize(1), true));
+        when(orderRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(new OrderRow(1L, 1L, "John Doe", 1L, 1,
+                new BigDecimal("21.98"), Order.OrderStatus.PENDING, createdAt, createdAt)));
+        when(orderRepository.findOrderIdSliceBefore(1L, null, createdAt, 1L, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(1), false));
+
+        // Act
+        OrderCursorPage first = orderService.getOrdersBefore(1L, null, "", 1);
+        OrderCursorPage last = orderService.getOrdersBefore(1L, null, first.getNextCursor(), 1);
+
+        // Assert
+        assertThat(first.getContent()).extracting(OrderResponse::getId).containsExactly(1L);
+        assertThat(first.getNextCursor()).isNotBlank();
+        assertThat(last.getContent()).isEmpty();
+        assertThat(last.getNextCursor()).isNull();
+
+        verify(orderRepository, never()).findOrderIdsWithFilters(any(), any(), any());
+    }
+
+    @Test
+    void getOrdersBefore_WithTamperedCursor_ThrowsInvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.getOrdersBefore(null, null, "bm90LWEtY3Vyc29y", 20))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> orderService.getOrdersBefore(null, null, "%%%", 20))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
     void getOrderById_OrderNotFound_ThrowsResourceNotFoundException() {
         // Arrange
-        when(orderRepository.findByIdWithDetails(999L)).thenReturn(Optional.empty());
+        when(orderRepository.findRowById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> orderService.getOrderById(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Order not found with ID: 999");
 
-        verify(orderRepository).findByIdWithDetails(999L);
+        verify(orderRepository, never()).findItemRowsByOrderId(any());
+    }
+
+    private static OrderRow row(Long id, Long customerId) {
+        return new OrderRow(id, customerId, customerId != null ? "John Doe" : null, 1L, 1,
+                new BigDecimal("21.98"), Order.OrderStatus.PENDING, LocalDateTime.now(), null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.qrcode.orderinglocator.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTest {
+
+    private MutableClock clock;
+    private ExpiringLruCache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        cache = new ExpiringLruCache<>(2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void get_BeforeTtl_ReturnsValue() {
+        cache.put("a", 1);
+        clock.advance(Duration.ofMinutes(9));
+
+        assertThat(cache.get("a")).contains(1);
+    }
+
+    @Test
+    void get_AfterTtl_ReturnsEmptyAndDropsEntry() {
+        cache.put("a", 1);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_WithOwnTtl_ExpiresAfterIt() {
+        cache.put("a", 1, Duration.ofMinutes(2));
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("a")).contains(1);
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("a")).isEmpty();
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).contains(1);
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains(3);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
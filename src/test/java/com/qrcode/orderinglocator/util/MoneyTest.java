@@ -0,0 +1,78 @@
+package com.qrcode.orderinglocator.util;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Property
+    void total_MatchesBigDecimalTotal(@ForAll @Size(max = 50) List<@From("lines") Line> lines) {
+        Money total = Money.ZERO;
+        BigDecimal expected = BigDecimal.ZERO;
+        for (Line line : lines) {
+            total = total.plus(Money.of(line.price()).times(line.quantity()));
+            expected = expected.add(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+
+        assertThat(total.toBigDecimal()).isEqualByComparingTo(expected);
+        assertThat(total.toBigDecimal().scale()).isEqualTo(Money.SCALE);
+    }
+
+    @Property
+    void of_RoundTripsThroughBigDecimal(@ForAll @LongRange(min = -99_999_999_99L, max = 99_999_999_99L) long minorUnits) {
+        BigDecimal amount = BigDecimal.valueOf(minorUnits, 2);
+
+        assertThat(Money.of(amount).minorUnits()).isEqualTo(minorUnits);
+        assertThat(Money.ofMinor(minorUnits).toBigDecimal()).isEqualTo(amount);
+    }
+
+    @Property
+    void compareTo_AgreesWithBigDecimal(@ForAll long a, @ForAll long b) {
+        int expected = BigDecimal.valueOf(a, 2).compareTo(BigDecimal.valueOf(b, 2));
+
+        assertThat(Integer.signum(Money.ofMinor(a).compareTo(Money.ofMinor(b)))).isEqualTo(expected);
+    }
+
+    @Property
+    void of_AcceptsFewerDecimals(@ForAll @IntRange(min = 0, max = 100_000) int whole) {
+        assertThat(Money.of(BigDecimal.valueOf(whole))).isEqualTo(Money.ofMinor(whole * 100L));
+    }
+
+    @Example
+    void of_MoreThanTwoDecimals_Throws() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Example
+    void plus_Overflow_Throws() {
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE / 2 + 1).times(2))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Example
+    void toString_IsPlainAmount() {
+        assertThat(Money.ofMinor(1099)).hasToString("10.99");
+        assertThat(Money.ofMinor(-5)).hasToString("-0.05");
+    }
+
+    @Provide
+    Arbitrary<Line> lines() {
+        // DECIMAL(10,2) prices and the quantities an order line accepts
+        Arbitrary<BigDecimal> prices = Arbitraries.longs().between(0, 99_999_999_99L).map(cents -> BigDecimal.valueOf(cents, 2));
+        Arbitrary<Integer> quantities = Arbitraries.integers().between(1, 1000);
+        return Combinators.combine(prices, quantities).as(Line::new);
+    }
+
+    record Line(BigDecimal price, int quantity) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.qrcode.orderinglocator.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, Integer> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void load_WhileAnotherLoadIsRunning_WaitsForItsResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> singleFlight.load("menu", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return 42;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() -> singleFlight.load("menu", () -> {
+            loads.incrementAndGet();
+            return -1;
+        }));
+        while (meterRegistry.counter("cache.load.coalesced", "cache", "test").count() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.timer("cache.load.duration", "cache", "test").count()).isEqualTo(1);
+    }
+
+    @Test
+    void load_AfterPreviousLoadCompleted_LoadsAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load("menu", loads::incrementAndGet);
+        int second = singleFlight.load("menu", loads::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+        assertThat(meterRegistry.counter("cache.load.coalesced", "cache", "test").count()).isZero();
+    }
+
+    @Test
+    void load_WhenLoaderFails_PropagatesAndAllowsRetry() {
+        assertThatThrownBy(() -> singleFlight.load("menu", () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+
+        assertThat(singleFlight.load("menu", () -> 7)).isEqualTo(7);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}